@@ -0,0 +1,159 @@
+package com.saysawgames.filelinknavigator;
+
+/**
+ * 不依赖 PSI 的简易注释扫描器
+ * 识别 // 行注释、斜杠星号块注释和 # 行注释，并跳过字符串字面量，避免把字符串中的 "@doc" 当成链接
+ * 只用于命令行检查，精度足够即可，不处理原始字符串、模板字符串等语言特有的写法
+ */
+final class CommentScanner {
+
+    /**
+     * 注释范围回调，范围为 [start, end)
+     */
+    interface CommentConsumer {
+        void comment(int start, int end);
+    }
+
+    /**
+     * 注释风格
+     */
+    enum Style {
+        // Java、Kotlin、C#、JS/TS、Go、C/C++ 等：行注释和块注释
+        C_LIKE(true, false),
+        // Python、Shell、Ruby、YAML 等：#
+        HASH(false, true),
+        // PHP：两种都支持
+        C_LIKE_AND_HASH(true, true);
+
+        final boolean slashComments;
+        final boolean hashComments;
+
+        Style(boolean slashComments, boolean hashComments) {
+            this.slashComments = slashComments;
+            this.hashComments = hashComments;
+        }
+    }
+
+    private CommentScanner() {
+    }
+
+    /**
+     * 根据扩展名判断注释风格，不支持的文件返回 null
+     */
+    static Style styleOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        switch (fileName.substring(dot + 1).toLowerCase()) {
+            case "java":
+            case "kt":
+            case "kts":
+            case "groovy":
+            case "gradle":
+            case "scala":
+            case "cs":
+            case "js":
+            case "jsx":
+            case "ts":
+            case "tsx":
+            case "go":
+            case "c":
+            case "h":
+            case "cc":
+            case "cpp":
+            case "hpp":
+            case "m":
+            case "swift":
+            case "rs":
+            case "dart":
+                return Style.C_LIKE;
+            case "py":
+            case "sh":
+            case "bash":
+            case "zsh":
+            case "rb":
+            case "pl":
+            case "r":
+            case "yml":
+            case "yaml":
+            case "toml":
+            case "properties":
+                return Style.HASH;
+            case "php":
+                return Style.C_LIKE_AND_HASH;
+            default:
+                return null;
+        }
+    }
+
+    static void scan(CharSequence text, Style style, CommentConsumer consumer) {
+        int length = text.length();
+        int pos = 0;
+        while (pos < length) {
+            pos = skipToken(text, pos, style, consumer);
+        }
+    }
+
+    /**
+     * 处理从 pos 开始的一个注释、字符串或普通字符
+     *
+     * @return 下一个位置
+     */
+    private static int skipToken(CharSequence text, int pos, Style style, CommentConsumer consumer) {
+        char c = text.charAt(pos);
+        int end;
+        if (style.slashComments && c == '/' && pos + 1 < text.length() && text.charAt(pos + 1) == '/') {
+            end = lineEnd(text, pos);
+        } else if (style.slashComments && c == '/' && pos + 1 < text.length() && text.charAt(pos + 1) == '*') {
+            end = blockEnd(text, pos + 2);
+        } else if (style.hashComments && c == '#') {
+            end = lineEnd(text, pos);
+        } else if (c == '"' || c == '\'') {
+            return stringEnd(text, pos + 1, c);
+        } else {
+            return pos + 1;
+        }
+        consumer.comment(pos, end);
+        return end;
+    }
+
+    private static int lineEnd(CharSequence text, int pos) {
+        int length = text.length();
+        while (pos < length && text.charAt(pos) != '\n') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int blockEnd(CharSequence text, int pos) {
+        int length = text.length();
+        while (pos + 1 < length) {
+            if (text.charAt(pos) == '*' && text.charAt(pos + 1) == '/') {
+                return pos + 2;
+            }
+            pos++;
+        }
+        return length;
+    }
+
+    // 字符串在行尾结束，未闭合的引号（如 Rust 的生命周期 'a）不会吞掉后面的代码
+    private static int stringEnd(CharSequence text, int pos, char quote) {
+        int length = text.length();
+        while (pos < length) {
+            char c = text.charAt(pos);
+            if (c == '\\') {
+                pos += 2;
+                continue;
+            }
+            if (c == quote) {
+                return pos + 1;
+            }
+            if (c == '\n') {
+                return pos;
+            }
+            pos++;
+        }
+        return length;
+    }
+}
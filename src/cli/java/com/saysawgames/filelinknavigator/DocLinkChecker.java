@@ -0,0 +1,542 @@
+package com.saysawgames.filelinknavigator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无界面的文档链接检查工具，供 CI 使用
+ * 运行：gradlew checkDocLinks -PdocLinks.args="--root . --output build/reports/doc-links.json"
+ * <p>
+ * 不依赖 IDE，只使用 DocLinkParser 和默认配置（可通过参数覆盖）：
+ * 遍历源码目录，用内存映射读取文件，在 ForkJoinPool 上并行扫描注释，
+ * 每个目标文件只检查一次（路径解析、行数、大纲都有缓存），最后输出 JSON 报告
+ * <p>
+ * 退出码：0 没有失效链接，1 存在失效链接，2 参数或 IO 错误
+ */
+public final class DocLinkChecker {
+
+    private static final String USAGE = String.join("\n",
+        "Usage: DocLinkChecker [options]",
+        "  --root <dir>          source tree to scan (default: current directory)",
+        "  --output <file>       write the JSON report to a file instead of stdout",
+        "  --threads <n>         worker threads (default: available processors)",
+        "  --tags <list>         tag names, comma separated (default: " + Constant.DEFAULT_TAGNAMES + ")",
+        "  --separators <list>   line number separators (default: " + Constant.DEFAULT_SEPARATORS + ")",
+        "  --prefixes <list>     line number prefixes (default: " + Constant.DEFAULT_LINEPREFIXES + ")"
+    );
+
+    // 不扫描的目录
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of(
+        ".git", ".svn", ".hg", ".idea", ".gradle", "build", "out", "target", "node_modules"
+    );
+
+    // 失效原因
+    static final String UNRESOLVED = "unresolved";
+    static final String LINE_OUT_OF_RANGE = "line-out-of-range";
+    static final String MISSING_ANCHOR = "missing-anchor";
+    static final String MISSING_LINE_CONTENT = "missing-line-content";
+
+    // 每个线程复用的解码缓冲区和匹配缓冲区
+    private static final ThreadLocal<CharsetDecoder> DECODER = ThreadLocal.withInitial(() -> StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE));
+    private static final ThreadLocal<CharBuffer[]> CHARS = ThreadLocal.withInitial(() -> new CharBuffer[]{CharBuffer.allocate(64 * 1024)});
+    private static final ThreadLocal<DocLinkMatchBuffer> BUFFER = ThreadLocal.withInitial(DocLinkMatchBuffer::new);
+
+    private final Path root;
+    // （源文件目录 + 链接路径）→ 目标文件，找不到时为 NOT_FOUND
+    private final Map<ResolveKey, Target> resolved = new ConcurrentHashMap<>();
+    // 目标文件 → 检查结果（行数、大纲），每个目标只读取一次
+    private final Map<Path, Target> targets = new ConcurrentHashMap<>();
+    // 文件名 → 所有同名文件，遍历目录时建立，用于只有文件名的链接
+    private final Map<String, List<Path>> filesByName = new HashMap<>();
+    private final ConcurrentLinkedQueue<Problem> problems = new ConcurrentLinkedQueue<>();
+    private final LongAdder fileCount = new LongAdder();
+    private final LongAdder linkCount = new LongAdder();
+
+    private static final Target NOT_FOUND = new Target(null, false);
+
+    /**
+     * 失效链接
+     */
+    static final class Problem {
+        final Path file;
+        final int offset;
+        final int line;
+        final int column;
+        final String link;
+        final String reason;
+
+        Problem(Path file, int offset, int line, int column, String link, String reason) {
+            this.file = file;
+            this.offset = offset;
+            this.line = line;
+            this.column = column;
+            this.link = link;
+            this.reason = reason;
+        }
+    }
+
+    private static final class ResolveKey {
+        final Path sourceDir;
+        final String filePath;
+
+        ResolveKey(Path sourceDir, String filePath) {
+            this.sourceDir = sourceDir;
+            this.filePath = filePath;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ResolveKey)) {
+                return false;
+            }
+            ResolveKey other = (ResolveKey) o;
+            return sourceDir.equals(other.sourceDir) && filePath.equals(other.filePath);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sourceDir.hashCode() + filePath.hashCode();
+        }
+    }
+
+    /**
+     * 链接目标，行数、文本、大纲和指纹定位结果在第一次需要时计算
+     * 文本只读取和解码一次，大纲和所有指纹定位共用
+     */
+    private static final class Target {
+        final Path path;
+        final boolean directory;
+        private int lineCount = -1;
+        private String text;
+        private MarkdownOutline outline;
+        private Map<String, Integer> locatedLines;     // "行号~指纹" → 定位到的行号
+
+        Target(Path path, boolean directory) {
+            this.path = path;
+            this.directory = directory;
+        }
+
+        synchronized int getLineCount() throws IOException {
+            if (lineCount < 0) {
+                lineCount = countLines(path);
+            }
+            return lineCount;
+        }
+
+        private String getText() throws IOException {
+            if (text == null) {
+                // 不能使用 decode()：当前线程的解码缓冲区正被源文件占用
+                text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+            }
+            return text;
+        }
+
+        synchronized MarkdownOutline getOutline() throws IOException {
+            if (outline == null) {
+                outline = MarkdownOutline.scan(getText());
+            }
+            return outline;
+        }
+
+        synchronized int locate(int line, String fingerprint) throws IOException {
+            if (locatedLines == null) {
+                locatedLines = new HashMap<>();
+            }
+            String key = line + "~" + fingerprint;
+            Integer located = locatedLines.get(key);
+            if (located == null) {
+                located = LineFingerprint.locate(getText(), line, fingerprint);
+                locatedLines.put(key, located);
+            }
+            return located;
+        }
+    }
+
+    DocLinkChecker(Path root) {
+        this.root = root;
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        Path root = Paths.get(".");
+        Path output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String tags = Constant.DEFAULT_TAGNAMES;
+        String separators = Constant.DEFAULT_SEPARATORS;
+        String prefixes = Constant.DEFAULT_LINEPREFIXES;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--help".equals(arg) || "-h".equals(arg)) {
+                    out.println(USAGE);
+                    return 0;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--root":
+                        root = Paths.get(value);
+                        break;
+                    case "--output":
+                        output = Paths.get(value);
+                        break;
+                    case "--threads":
+                        threads = Math.max(1, Integer.parseInt(value));
+                        break;
+                    case "--tags":
+                        tags = value;
+                        break;
+                    case "--separators":
+                        separators = value;
+                        break;
+                    case "--prefixes":
+                        prefixes = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        if (!Files.isDirectory(root)) {
+            err.println("Not a directory: " + root);
+            return 2;
+        }
+
+        // 直接注入配置，不读取 SettingsState
+        Constant.updateDocLinkPattern(tags, separators, prefixes);
+
+        long startTime = System.nanoTime();
+        DocLinkChecker checker = new DocLinkChecker(root.toAbsolutePath().normalize());
+        try {
+            checker.check(threads);
+            String report = checker.toJson((System.nanoTime() - startTime) / 1_000_000);
+            if (output == null) {
+                out.println(report);
+            } else {
+                if (output.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(output.toAbsolutePath().getParent());
+                }
+                Files.writeString(output, report, StandardCharsets.UTF_8);
+                err.println(checker.problems.size() + " broken link(s) in " + checker.fileCount.sum() + " file(s), report: " + output);
+            }
+        } catch (IOException e) {
+            err.println("Failed to check " + root + ": " + e);
+            return 2;
+        }
+        return checker.problems.isEmpty() ? 0 : 1;
+    }
+
+    void check(int threads) throws IOException {
+        List<Path> files = collectFiles();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> files.parallelStream().forEach(this::checkFile)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<Path> collectFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(root) && SKIPPED_DIRECTORIES.contains(dir.getFileName().toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (!attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                String name = file.getFileName().toString();
+                filesByName.computeIfAbsent(name, key -> new ArrayList<>()).add(file);
+                if (CommentScanner.styleOf(name) != null) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
+    private void checkFile(Path file) {
+        CharBuffer text;
+        try {
+            text = decode(file);
+        } catch (IOException e) {
+            return;
+        }
+        fileCount.increment();
+
+        CommentScanner.Style style = CommentScanner.styleOf(file.getFileName().toString());
+        Path sourceDir = file.getParent();
+        DocLinkMatchBuffer buffer = BUFFER.get();
+        CommentScanner.scan(text, style, (start, end) -> {
+            CharSequence comment = text.subSequence(start, end);
+            int count = DocLinkParser.parseDocLinks(comment, buffer);
+            for (int i = 0; i < count; i++) {
+                linkCount.increment();
+                String reason = checkLink(sourceDir, buffer, i, comment);
+                if (reason != null) {
+                    int offset = start + buffer.getStart(i);
+                    String link = comment.subSequence(buffer.getStart(i), buffer.getEnd(i)).toString();
+                    addProblem(file, text, offset, link, reason);
+                }
+            }
+        });
+    }
+
+    /**
+     * 检查单个链接
+     *
+     * @return 失效原因，链接有效时返回 null
+     */
+    private String checkLink(Path sourceDir, DocLinkMatchBuffer buffer, int index, CharSequence comment) {
+        String filePath = Utils.formatPath(buffer.getFilePath(index, comment));
+        Target target = resolved.computeIfAbsent(new ResolveKey(sourceDir, filePath), key -> resolve(key.sourceDir, key.filePath));
+        if (target == NOT_FOUND) {
+            return UNRESOLVED;
+        }
+        if (target.directory) {
+            return null;
+        }
+        try {
+            if (buffer.hasAnchor(index)) {
+                return target.getOutline().findLine(buffer.getAnchor(index, comment)) < 0 ? MISSING_ANCHOR : null;
+            }
+            if (buffer.hasFingerprint(index)) {
+                int line = buffer.getLineNumber(index);
+                return target.locate(line, buffer.getFingerprint(index, comment)) < 0 ? MISSING_LINE_CONTENT : null;
+            }
+            if (buffer.hasLineNumber(index)) {
+                int line = buffer.getLineNumber(index);
+                return line < 1 || line > target.getLineCount() ? LINE_OUT_OF_RANGE : null;
+            }
+        } catch (IOException e) {
+            return UNRESOLVED;
+        }
+        return null;
+    }
+
+    /**
+     * 与 IDE 中的 DocLinkResolver 顺序一致：相对于当前文件、相对于根目录、绝对路径、只有文件名时按文件名查找
+     */
+    private Target resolve(Path sourceDir, String filePath) {
+        try {
+            Path relative = Paths.get(filePath);
+            Path[] candidates = relative.isAbsolute()
+                ? new Path[]{relative}
+                : new Path[]{sourceDir.resolve(relative), root.resolve(relative)};
+            for (Path candidate : candidates) {
+                Path normalized = candidate.normalize();
+                if (Files.isDirectory(normalized)) {
+                    return targets.computeIfAbsent(normalized, path -> new Target(path, true));
+                }
+                if (Files.isRegularFile(normalized)) {
+                    return targets.computeIfAbsent(normalized, path -> new Target(path, false));
+                }
+            }
+        } catch (InvalidPathException e) {
+            return NOT_FOUND;
+        }
+        Path nearest = Utils.isFileNameOnly(filePath) ? findByName(sourceDir, filePath) : null;
+        return nearest == null ? NOT_FOUND : targets.computeIfAbsent(nearest, path -> new Target(path, false));
+    }
+
+    /**
+     * 多个同名文件时取与源文件目录距离最近的（距离相同时取路径排序靠前的）
+     */
+    private Path findByName(Path sourceDir, String fileName) {
+        List<Path> candidates = filesByName.get(fileName);
+        if (candidates == null) {
+            return null;
+        }
+        Path nearest = null;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (Path candidate : candidates) {
+            Path relative = sourceDir.relativize(candidate.getParent());
+            int distance = relative.toString().isEmpty() ? 0 : relative.getNameCount();
+            if (distance < nearestDistance || distance == nearestDistance && candidate.compareTo(nearest) < 0) {
+                nearest = candidate;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    private void addProblem(Path file, CharSequence text, int offset, String link, String reason) {
+        // 只在出现问题时计算行列号
+        int line = 1;
+        int lineStart = 0;
+        for (int i = 0; i < offset; i++) {
+            if (text.charAt(i) == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        problems.add(new Problem(root.relativize(file), offset, line, offset - lineStart + 1, link, reason));
+    }
+
+    /**
+     * 用内存映射读取并解码文件，返回的缓冲区属于当前线程，下一次调用前有效
+     */
+    static CharBuffer decode(Path file) throws IOException {
+        CharsetDecoder decoder = DECODER.get();
+        CharBuffer[] holder = CHARS.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + file);
+            }
+            ByteBuffer bytes = size == 0 ? ByteBuffer.allocate(0) : channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            // UTF-8 解码后的字符数不会超过字节数
+            if (holder[0].capacity() < size) {
+                holder[0] = CharBuffer.allocate((int) Math.max(size, holder[0].capacity() * 2L));
+            }
+            CharBuffer chars = holder[0];
+            chars.clear();
+            decoder.reset();
+            CoderResult result = decoder.decode(bytes, chars, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            decoder.flush(chars);
+            chars.flip();
+            return chars;
+        }
+    }
+
+    /**
+     * 统计文件行数（换行符数量 + 1），直接在映射的字节上计数，不解码
+     */
+    static int countLines(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int lines = 1;
+            long position = 0;
+            while (position < size) {
+                long chunk = Math.min(size - position, Integer.MAX_VALUE);
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, chunk);
+                for (int i = 0; i < chunk; i++) {
+                    if (bytes.get(i) == '\n') {
+                        lines++;
+                    }
+                }
+                position += chunk;
+            }
+            return lines;
+        }
+    }
+
+    String toJson(long elapsedMillis) {
+        List<Problem> sorted = new ArrayList<>(problems);
+        sorted.sort(Comparator.comparing((Problem problem) -> problem.file.toString()).thenComparingInt(problem -> problem.offset));
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"root\": ").append(quote(root.toString())).append(",\n");
+        json.append("  \"files\": ").append(fileCount.sum()).append(",\n");
+        json.append("  \"links\": ").append(linkCount.sum()).append(",\n");
+        json.append("  \"targets\": ").append(targets.size()).append(",\n");
+        json.append("  \"elapsedMillis\": ").append(elapsedMillis).append(",\n");
+        json.append("  \"broken\": [");
+        for (int i = 0; i < sorted.size(); i++) {
+            Problem problem = sorted.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"file\": ").append(quote(problem.file.toString().replace('\\', '/')))
+                .append(", \"line\": ").append(problem.line)
+                .append(", \"column\": ").append(problem.column)
+                .append(", \"link\": ").append(quote(problem.link))
+                .append(", \"reason\": ").append(quote(problem.reason))
+                .append('}');
+        }
+        json.append(sorted.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}");
+        return json.toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
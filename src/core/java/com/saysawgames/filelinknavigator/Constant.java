@@ -1,7 +1,5 @@
 package com.saysawgames.filelinknavigator;
 
-import com.saysawgames.filelinknavigator.settings.SettingsState;
-
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,59 +11,92 @@ public class Constant {
     // 默认的行号前缀，用,分隔
     public static final String DEFAULT_LINEPREFIXES = "L";
 
-    private static String[] validTagsCache = null;
-    private static char[] validNumberSplitCache = null;
-    private static char[] validNumberPrefixCache = null;
+    // 当前生效的配置快照，整体替换，读取时无需加锁
+    private static volatile DocLinkConfig config = null;
+    // 已分配的最大版本号，只在持有 Constant.class 锁时修改
+    private static long lastVersion = 0;
+    // 设置修改计数，应用级或项目级设置变化时递增
+    private static volatile long modificationCount = 0;
 
-    public static String[] getValidTags() {
-        if (validTagsCache == null) {
-            updateDocLinkPattern();
+    /**
+     * 获取当前配置快照，还没有发布过配置时使用默认值
+     * 不读取 IDE 设置：插件中由 SettingsState 加载后发布，命令行工具和基准测试直接注入
+     */
+    public static DocLinkConfig getConfig() {
+        DocLinkConfig current = config;
+        return current != null ? current : loadConfig();
+    }
+
+    private static synchronized DocLinkConfig loadConfig() {
+        if (config == null) {
+            config = compile(DEFAULT_TAGNAMES, DEFAULT_SEPARATORS, DEFAULT_LINEPREFIXES, ++lastVersion);
         }
-        return validTagsCache;
+        return config;
+    }
+
+    public static String[] getValidTags() {
+        return getConfig().getTags();
     }
 
     public static char[] getValidNumberSplit() {
-        if (validNumberSplitCache == null) {
-            updateDocLinkPattern();
-        }
-        return validNumberSplitCache;
+        return getConfig().getSeparators();
     }
 
     public static char[] getValidNumberPrefix() {
-        if (validNumberPrefixCache == null) {
-            updateDocLinkPattern();
-        }
-        return validNumberPrefixCache;
+        return getConfig().getLinePrefixes();
+    }
+
+    public static DocLinkTagMatcher getTagMatcher() {
+        return getConfig().getTagMatcher();
     }
 
     /**
-     * 更新文档链接的正则表达式模式
+     * 配置版本号，每次配置变化时递增
      */
-    public static synchronized void updateDocLinkPattern() {
-        SettingsState settings = SettingsState.getInstance();
-        if (settings != null) {
-            String tagNameArray = settings.getTagNamesRegex();
-            String splitArray = settings.getSeparatorsRegex();
-            String linePrefixArray = settings.getLinePrefixesRegex();
-
-            validTagsCache = (String[]) filterArray(tagNameArray, DEFAULT_TAGNAMES, "string");
-            validNumberSplitCache = (char[]) filterArray(splitArray, DEFAULT_SEPARATORS, "char");
-            validNumberPrefixCache = (char[]) filterArray(linePrefixArray, DEFAULT_LINEPREFIXES, "char");
-        } else {
-            // 如果无法获取设置，则使用默认值
-            validTagsCache = DEFAULT_TAGNAMES.split(",", -1);
-            validNumberSplitCache = new char[]{':', '#'};
-            validNumberPrefixCache = new char[]{'L'};
-        }
+    public static long getVersion() {
+        return getConfig().getVersion();
+    }
+
+    /**
+     * 设置修改计数，应用级、项目级或模块级的任何设置变化时递增，解析结果缓存以此判断是否失效
+     */
+    public static long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * 项目级或模块级设置变化后调用，让所有解析结果缓存失效
+     */
+    public static synchronized void settingsChanged() {
+        modificationCount++;
+    }
+
+    /**
+     * 为新编译的配置分配版本号，同一个版本号只对应一份配置
+     */
+    public static synchronized long nextVersion() {
+        return ++lastVersion;
+    }
+
+    /**
+     * 用给定的配置编译并发布，整体替换旧配置
+     * 插件中由 SettingsState 调用，JMH 基准测试、命令行检查工具直接调用
+     */
+    public static synchronized void updateDocLinkPattern(String tagNameArray, String splitArray, String linePrefixArray) {
+        config = compile(tagNameArray, splitArray, linePrefixArray, ++lastVersion);
+        modificationCount++;
     }
-    
+
     /**
-     * 清除缓存，强制下次访问时重新加载设置
+     * 编译配置快照，不发布
      */
-    public static synchronized void clearCache() {
-        validTagsCache = null;
-        validNumberSplitCache = null;
-        validNumberPrefixCache = null;
+    public static DocLinkConfig compile(String tagNameArray, String splitArray, String linePrefixArray, long version) {
+        return new DocLinkConfig(
+            (String[]) filterArray(tagNameArray, DEFAULT_TAGNAMES, "string"),
+            (char[]) filterArray(splitArray, DEFAULT_SEPARATORS, "char"),
+            (char[]) filterArray(linePrefixArray, DEFAULT_LINEPREFIXES, "char"),
+            version
+        );
     }
 
     private static Object filterArray(String tagNameArray, String defaultArray, String returnType) {
@@ -0,0 +1,96 @@
+package com.saysawgames.filelinknavigator;
+
+/**
+ * 编译后的链接配置快照（不可变）
+ * 包含标签字典树、分隔符与行号前缀的查找表以及版本号，由 Constant 通过一个 volatile 引用整体发布，
+ * 解析线程读取一次引用后即可无锁使用，不会看到标签与分隔符新旧混杂的中间状态
+ */
+public final class DocLinkConfig {
+
+    private final String[] tags;
+    private final DocLinkTagMatcher tagMatcher;
+    private final char[] separators;
+    private final char[] linePrefixes;
+    // ASCII 字符的查找表，非 ASCII 字符退回到线性查找
+    private final boolean[] separatorTable;
+    private final boolean[] linePrefixTable;
+    private final long version;
+
+    DocLinkConfig(String[] tags, char[] separators, char[] linePrefixes, long version) {
+        this.tags = tags.clone();
+        this.tagMatcher = new DocLinkTagMatcher(this.tags);
+        this.separators = separators.clone();
+        this.linePrefixes = linePrefixes.clone();
+        this.separatorTable = toTable(this.separators);
+        this.linePrefixTable = toTable(this.linePrefixes);
+        this.version = version;
+    }
+
+    private static boolean[] toTable(char[] chars) {
+        boolean[] table = new boolean[128];
+        for (char c : chars) {
+            if (c < 128) {
+                table[c] = true;
+            }
+        }
+        return table;
+    }
+
+    private static boolean contains(char[] chars, char c) {
+        for (char candidate : chars) {
+            if (candidate == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public DocLinkTagMatcher getTagMatcher() {
+        return tagMatcher;
+    }
+
+    /**
+     * 是否为文件名与行号之间的分隔符
+     */
+    public boolean isSeparator(char c) {
+        return c < 128 ? separatorTable[c] : contains(separators, c);
+    }
+
+    /**
+     * 是否为行号前缀（如 L42 中的 L）
+     */
+    public boolean isLinePrefix(char c) {
+        return c < 128 ? linePrefixTable[c] : contains(linePrefixes, c);
+    }
+
+    /**
+     * 是否启用了该标签（名称不含@和:），用于按模块过滤索引中的链接
+     */
+    public boolean hasTagName(String tagName) {
+        for (int i = 0; i < tagMatcher.getTagCount(); i++) {
+            if (tagMatcher.getTagName(i).equals(tagName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String[] getTags() {
+        return tags.clone();
+    }
+
+    public char[] getSeparators() {
+        return separators.clone();
+    }
+
+    public char[] getLinePrefixes() {
+        return linePrefixes.clone();
+    }
+
+    /**
+     * 配置版本号，每次发布新配置时递增
+     */
+    public long getVersion() {
+        return version;
+    }
+}
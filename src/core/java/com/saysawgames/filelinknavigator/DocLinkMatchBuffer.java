@@ -0,0 +1,191 @@
+package com.saysawgames.filelinknavigator;
+
+import java.util.Arrays;
+
+/**
+ * 可复用的紧凑匹配结果缓冲区
+ * 每个匹配只保存若干 int 偏移（标签、路径范围、行号值、锚点范围、指纹范围），
+ * 字符串只在调用 getFilePath / getAnchor / getFingerprint / toMatch 时才根据原文本生成
+ * <p>
+ * 同一个缓冲区可以反复传给 DocLinkParser.parseDocLinks(CharSequence, DocLinkMatchBuffer)，
+ * 容量只增不减，解析没有链接的文本时不产生任何垃圾对象
+ */
+public final class DocLinkMatchBuffer {
+
+    // 每个匹配占用的 int 个数及各字段下标
+    private static final int START = 0;
+    private static final int END = 1;
+    private static final int TAG = 2;
+    private static final int PATH_START = 3;
+    private static final int PATH_END = 4;
+    private static final int LINE_START = 5;
+    private static final int LINE_END = 6;
+    private static final int LINE_VALUE = 7;
+    private static final int ANCHOR_START = 8;
+    private static final int ANCHOR_END = 9;
+    private static final int FINGERPRINT_START = 10;
+    private static final int FINGERPRINT_END = 11;
+    private static final int STRIDE = 12;
+
+    private int[] data;
+    private int size;
+    private DocLinkTagMatcher tagMatcher;
+
+    public DocLinkMatchBuffer() {
+        this(8);
+    }
+
+    public DocLinkMatchBuffer(int initialCapacity) {
+        data = new int[Math.max(1, initialCapacity) * STRIDE];
+    }
+
+    /**
+     * 清空缓冲区，准备下一次解析
+     */
+    void reset(DocLinkTagMatcher tagMatcher) {
+        this.tagMatcher = tagMatcher;
+        this.size = 0;
+    }
+
+    /**
+     * 追加一个匹配，没有行号、锚点或指纹时对应的范围传 -1
+     */
+    void add(int start, int end, int tag, int pathStart, int pathEnd,
+             int lineStart, int lineEnd, int lineValue, int anchorStart, int anchorEnd,
+             int fingerprintStart, int fingerprintEnd) {
+        int base = size * STRIDE;
+        if (base + STRIDE > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        data[base + START] = start;
+        data[base + END] = end;
+        data[base + TAG] = tag;
+        data[base + PATH_START] = pathStart;
+        data[base + PATH_END] = pathEnd;
+        data[base + LINE_START] = lineStart;
+        data[base + LINE_END] = lineEnd;
+        data[base + LINE_VALUE] = lineValue;
+        data[base + ANCHOR_START] = anchorStart;
+        data[base + ANCHOR_END] = anchorEnd;
+        data[base + FINGERPRINT_START] = fingerprintStart;
+        data[base + FINGERPRINT_END] = fingerprintEnd;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getStart(int index) {
+        return get(index, START);
+    }
+
+    public int getEnd(int index) {
+        return get(index, END);
+    }
+
+    /**
+     * 标签在配置中的序号
+     */
+    public int getTagIndex(int index) {
+        return get(index, TAG);
+    }
+
+    public int getPathStart(int index) {
+        return get(index, PATH_START);
+    }
+
+    public int getPathEnd(int index) {
+        return get(index, PATH_END);
+    }
+
+    public boolean hasLineNumber(int index) {
+        return get(index, LINE_START) >= 0;
+    }
+
+    public int getLineNumberStart(int index) {
+        return get(index, LINE_START);
+    }
+
+    public int getLineNumberEnd(int index) {
+        return get(index, LINE_END);
+    }
+
+    /**
+     * 行号数值，没有行号时返回 1（跳转到文件开头），超出 int 范围时为 Integer.MAX_VALUE
+     */
+    public int getLineNumber(int index) {
+        return hasLineNumber(index) ? get(index, LINE_VALUE) : 1;
+    }
+
+    public boolean hasAnchor(int index) {
+        return get(index, ANCHOR_START) >= 0;
+    }
+
+    public int getAnchorStart(int index) {
+        return get(index, ANCHOR_START);
+    }
+
+    public int getAnchorEnd(int index) {
+        return get(index, ANCHOR_END);
+    }
+
+    public boolean hasFingerprint(int index) {
+        return get(index, FINGERPRINT_START) >= 0;
+    }
+
+    public int getFingerprintStart(int index) {
+        return get(index, FINGERPRINT_START);
+    }
+
+    public int getFingerprintEnd(int index) {
+        return get(index, FINGERPRINT_END);
+    }
+
+    public String getTagName(int index) {
+        return tagMatcher.getTagName(getTagIndex(index));
+    }
+
+    public String getFilePath(int index, CharSequence text) {
+        return text.subSequence(getPathStart(index), getPathEnd(index)).toString();
+    }
+
+    public String getAnchor(int index, CharSequence text) {
+        return hasAnchor(index) ? text.subSequence(getAnchorStart(index), getAnchorEnd(index)).toString() : null;
+    }
+
+    /**
+     * 行内容指纹（十六进制字符串，不含 ~），没有时返回 null
+     */
+    public String getFingerprint(int index, CharSequence text) {
+        return hasFingerprint(index)
+            ? text.subSequence(getFingerprintStart(index), getFingerprintEnd(index)).toString() : null;
+    }
+
+    /**
+     * 生成兼容旧接口的匹配对象
+     */
+    public DocLinkParser.DocLinkMatch toMatch(int index, CharSequence text) {
+        return new DocLinkParser.DocLinkMatch(
+            getTagName(index),
+            getFilePath(index, text),
+            hasLineNumber(index) ? text.subSequence(getLineNumberStart(index), getLineNumberEnd(index)).toString() : null,
+            getLineNumber(index),
+            getAnchor(index, text),
+            getFingerprint(index, text),
+            getStart(index),
+            getEnd(index)
+        );
+    }
+
+    private int get(int index, int field) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return data[index * STRIDE + field];
+    }
+}
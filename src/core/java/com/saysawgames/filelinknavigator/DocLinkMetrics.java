@@ -0,0 +1,230 @@
+package com.saysawgames.filelinknavigator;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 插件内置的运行指标：解析、路径解析、高亮等操作的次数与耗时分布，以及各缓存的命中率
+ * <p>
+ * 计数使用 LongAdder（分段累加，无锁），耗时按 2 的幂分桶记录，每次记录只做几次累加，不分配对象，
+ * 可以在生产环境中一直开启；不依赖 IDE，命令行检查器和基准测试中同样可用
+ */
+public final class DocLinkMetrics {
+
+    // 耗时分桶数：第 i 个桶记录 [2^(i-1), 2^i) 纳秒，最后一个桶包含所有更长的耗时
+    private static final int BUCKETS = 40;
+
+    public static final Timer PARSE = new Timer("parseDocLinks");
+    public static final Timer RESOLVE = new Timer("multiResolve");
+    public static final Timer FIND_FILE = new Timer("findFile");
+    public static final Timer HIGHLIGHT = new Timer("highlightingPass");
+
+    public static final CacheCounter RESOLVER_CACHE = new CacheCounter("resolverCache");
+    public static final CacheCounter MATCH_CACHE = new CacheCounter("matchCache");
+    public static final CacheCounter SNIPPET_CACHE = new CacheCounter("snippetCache");
+
+    private static final Timer[] TIMERS = {PARSE, RESOLVE, FIND_FILE, HIGHLIGHT};
+    private static final CacheCounter[] CACHES = {RESOLVER_CACHE, MATCH_CACHE, SNIPPET_CACHE};
+
+    private DocLinkMetrics() {
+    }
+
+    /**
+     * 开始计时，返回值传给 Timer.record
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static Timer[] getTimers() {
+        return TIMERS.clone();
+    }
+
+    public static CacheCounter[] getCaches() {
+        return CACHES.clone();
+    }
+
+    /**
+     * 清零所有指标
+     */
+    public static void reset() {
+        for (Timer timer : TIMERS) {
+            timer.reset();
+        }
+        for (CacheCounter cache : CACHES) {
+            cache.reset();
+        }
+    }
+
+    /**
+     * 耗时统计：次数、总耗时、最大耗时和按 2 的幂分桶的直方图
+     */
+    public static final class Timer {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        Timer(String name) {
+            this.name = name;
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * 记录一次从 startNanos（DocLinkMetrics.start 的返回值）到现在的耗时
+         */
+        public void record(long startNanos) {
+            long nanos = Math.max(0, System.nanoTime() - startNanos);
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos))].increment();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getMeanNanos() {
+            long n = getCount();
+            return n == 0 ? 0 : getTotalNanos() / n;
+        }
+
+        /**
+         * 百分位耗时的上界（所在桶的上限），没有记录时返回 0
+         *
+         * @param percentile 0 ~ 100
+         */
+        public long getPercentileNanos(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return Math.min(1L << i, getMaxNanos());
+                }
+            }
+            return getMaxNanos();
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+    }
+
+    /**
+     * 缓存命中统计：每次查询调用 request，未命中需要重新计算时再调用 miss
+     */
+    public static final class CacheCounter {
+        private final String name;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        CacheCounter(String name) {
+            this.name = name;
+        }
+
+        public void request() {
+            requests.increment();
+        }
+
+        public void miss() {
+            misses.increment();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        /**
+         * 命中率 0 ~ 1，没有查询时返回 0
+         */
+        public double getHitRate() {
+            long n = getRequests();
+            return n == 0 ? 0 : Math.max(0, n - getMisses()) / (double) n;
+        }
+
+        void reset() {
+            requests.reset();
+            misses.reset();
+        }
+    }
+
+    /**
+     * 导出为 JSON，耗时单位为纳秒
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"timers\": [");
+        for (int i = 0; i < TIMERS.length; i++) {
+            Timer timer = TIMERS[i];
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"name\": \"").append(timer.getName()).append('"')
+                .append(", \"count\": ").append(timer.getCount())
+                .append(", \"totalNanos\": ").append(timer.getTotalNanos())
+                .append(", \"meanNanos\": ").append(timer.getMeanNanos())
+                .append(", \"p50Nanos\": ").append(timer.getPercentileNanos(50))
+                .append(", \"p90Nanos\": ").append(timer.getPercentileNanos(90))
+                .append(", \"p99Nanos\": ").append(timer.getPercentileNanos(99))
+                .append(", \"maxNanos\": ").append(timer.getMaxNanos())
+                .append(", \"histogram\": [");
+            for (int b = 0; b < BUCKETS; b++) {
+                json.append(b == 0 ? "" : ", ").append(timer.buckets[b].sum());
+            }
+            json.append("]}");
+        }
+        json.append("\n  ],\n");
+        json.append("  \"caches\": [");
+        for (int i = 0; i < CACHES.length; i++) {
+            CacheCounter cache = CACHES[i];
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"name\": \"").append(cache.getName()).append('"')
+                .append(", \"requests\": ").append(cache.getRequests())
+                .append(", \"misses\": ").append(cache.getMisses())
+                .append(", \"hitRate\": ").append(String.format(Locale.ROOT, "%.4f", cache.getHitRate()))
+                .append('}');
+        }
+        json.append("\n  ]\n");
+        json.append("}");
+        return json.toString();
+    }
+}
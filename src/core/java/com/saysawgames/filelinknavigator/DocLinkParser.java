@@ -0,0 +1,294 @@
+package com.saysawgames.filelinknavigator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DocLinkParser {
+
+    // 兼容接口使用的线程内缓冲区，避免每次解析都分配
+    private static final ThreadLocal<DocLinkMatchBuffer> BUFFER = ThreadLocal.withInitial(DocLinkMatchBuffer::new);
+
+    /**
+     * 文档链接匹配结果
+     */
+    public static class DocLinkMatch {
+        public final String tagName;        // 标签名（不含@和:）
+        public final String filePath;       // 文件路径
+        public final String lineNumber;     // 行号（可能为null）
+        public final int line;              // 行号数值（没有行号时为 1）
+        public final String anchor;         // 标题锚点（可能为null），如 guide.md#Installation
+        public final String fingerprint;    // 目标行的内容指纹（可能为null），如 notes.md:42~a1b2c3
+        public final int start;             // 起始位置
+        public final int end;               // 结束位置
+
+        public DocLinkMatch(String tagName, String filePath, String lineNumber, int line, String anchor,
+                            int start, int end) {
+            this(tagName, filePath, lineNumber, line, anchor, null, start, end);
+        }
+
+        public DocLinkMatch(String tagName, String filePath, String lineNumber, int line, String anchor,
+                            String fingerprint, int start, int end) {
+            this.tagName = tagName;
+            this.filePath = filePath;
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.anchor = anchor;
+            this.fingerprint = fingerprint;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("DocLinkMatch{tag=%s, path=%s, line=%s, anchor=%s, fingerprint=%s, pos=[%d,%d)}",
+                tagName, filePath, lineNumber, anchor, fingerprint, start, end);
+        }
+    }
+
+    /**
+     * 解析注释文本中的所有文档链接
+     * 基于 parseDocLinks(CharSequence, DocLinkMatchBuffer) 的兼容接口，只在有匹配时才创建字符串
+     */
+    public static List<DocLinkMatch> parseDocLinks(String commentText) {
+        return parseDocLinks(commentText, Constant.getConfig());
+    }
+
+    public static List<DocLinkMatch> parseDocLinks(String commentText, DocLinkConfig config) {
+        List<DocLinkMatch> matches = new ArrayList<>();
+
+        if (commentText == null || commentText.isEmpty()) {
+            return matches;
+        }
+
+        DocLinkMatchBuffer buffer = BUFFER.get();
+        int count = parseDocLinks(commentText, buffer, config);
+        for (int i = 0; i < count; i++) {
+            matches.add(buffer.toMatch(i, commentText));
+        }
+        return matches;
+    }
+
+    /**
+     * 解析文本中的所有文档链接，结果以 int 偏移的形式写入可复用的缓冲区
+     * <p>
+     * 只向前扫描一遍：先用首字符过滤表跳过不可能是标签开头的字符，
+     * 再用标签字典树一次匹配全部标签，匹配成功后直接跳到链接末尾继续
+     *
+     * @return 匹配数量
+     */
+    public static int parseDocLinks(CharSequence text, DocLinkMatchBuffer buffer) {
+        return parseDocLinks(text, buffer, Constant.getConfig());
+    }
+
+    /**
+     * 使用指定的配置快照解析，整个解析过程只读取这一份配置
+     */
+    public static int parseDocLinks(CharSequence text, DocLinkMatchBuffer buffer, DocLinkConfig config) {
+        long start = DocLinkMetrics.start();
+        int count = parse(text, buffer, config);
+        DocLinkMetrics.PARSE.record(start);
+        return count;
+    }
+
+    private static int parse(CharSequence text, DocLinkMatchBuffer buffer, DocLinkConfig config) {
+        DocLinkTagMatcher tagMatcher = config.getTagMatcher();
+        buffer.reset(tagMatcher);
+
+        if (text == null || text.length() == 0) {
+            return 0;
+        }
+
+        int pos = 0;
+        int length = text.length();
+        while (pos < length) {
+            if (!tagMatcher.isTagStart(text.charAt(pos))) {
+                pos++;
+                continue;
+            }
+            int tag = tagMatcher.match(text, pos);
+            int end = tag < 0 ? -1 : parseDocLink(text, pos, config, tag, buffer);
+            pos = end > 0 ? end : pos + 1;
+        }
+
+        return buffer.size();
+    }
+
+    /**
+     * 解析从标签位置开始的文档链接，成功时写入缓冲区
+     *
+     * @return 链接的结束位置，不是有效链接时返回 -1
+     */
+    private static int parseDocLink(CharSequence text, int tagStart, DocLinkConfig config, int tag,
+                                    DocLinkMatchBuffer buffer) {
+        int length = text.length();
+
+        // 1. 跳过标签后的空白字符
+        int pos = skipWhitespace(text, tagStart + config.getTagMatcher().getTagLength(tag));
+
+        if (pos >= length) {
+            return -1;
+        }
+
+        // 2. 解析文件路径
+        int pathStart = pos;
+        while (pos < length && isValidPathChar(text.charAt(pos))) {
+            pos++;
+        }
+
+        if (pos == pathStart) {
+            return -1; // 没有文件路径
+        }
+
+        int pathEnd = pos;
+        int finalPos = pos;
+        int lineStart = -1;
+        int lineEnd = -1;
+        int lineValue = 0;
+        int anchorStart = -1;
+        int anchorEnd = -1;
+        int fingerprintStart = -1;
+        int fingerprintEnd = -1;
+
+        // 3. 尝试解析行号部分（可选）：[:#] [空白] [L] 数字
+        pos = skipWhitespace(text, pos);
+        if (pos < length && config.isSeparator(text.charAt(pos))) {
+            pos++;
+            int separatorEnd = pos;
+
+            // 跳过分隔符后的空白，以及可选的 L 前缀
+            pos = skipWhitespace(text, pos);
+            if (pos < length && config.isLinePrefix(text.charAt(pos))) {
+                pos++;
+            }
+
+            // 解析数字，超出 int 范围时取最大值
+            int digitStart = pos;
+            long value = 0;
+            while (pos < length && isDigit(text.charAt(pos))) {
+                value = Math.min(value * 10 + (text.charAt(pos) - '0'), Integer.MAX_VALUE);
+                pos++;
+            }
+
+            if (pos > digitStart) {
+                lineStart = digitStart;
+                lineEnd = pos;
+                lineValue = (int) value;
+                finalPos = pos;
+
+                // 可选的内容指纹：紧跟在行号后的 ~ 加 4~8 位十六进制数字
+                int hexEnd = parseFingerprint(text, pos);
+                if (hexEnd > 0) {
+                    fingerprintStart = pos + 1;
+                    fingerprintEnd = hexEnd;
+                    finalPos = hexEnd;
+                }
+            } else {
+                // 4. 不是数字时，尝试解析紧跟在分隔符后的标题锚点：[:#] 锚点
+                // 分隔符后不允许有空白，避免把 "README.md: see below" 误认为锚点
+                pos = separatorEnd;
+                while (pos < length && isValidAnchorChar(text.charAt(pos))) {
+                    pos++;
+                }
+                if (pos > separatorEnd) {
+                    anchorStart = separatorEnd;
+                    anchorEnd = pos;
+                    finalPos = pos;
+                }
+            }
+        }
+
+        buffer.add(tagStart, finalPos, tag, pathStart, pathEnd, lineStart, lineEnd, lineValue, anchorStart, anchorEnd,
+            fingerprintStart, fingerprintEnd);
+        return finalPos;
+    }
+
+    /**
+     * 解析行号后的内容指纹 ~hex
+     *
+     * @return 指纹的结束位置，没有有效指纹时返回 -1
+     */
+    private static int parseFingerprint(CharSequence text, int pos) {
+        int length = text.length();
+        if (pos >= length || text.charAt(pos) != '~') {
+            return -1;
+        }
+        int hexStart = pos + 1;
+        int hexEnd = hexStart;
+        while (hexEnd < length && hexEnd - hexStart < LineFingerprint.MAX_DIGITS && isHexDigit(text.charAt(hexEnd))) {
+            hexEnd++;
+        }
+        // 位数不足，或后面还紧跟着字母数字（不是指纹）
+        if (hexEnd - hexStart < LineFingerprint.MIN_DIGITS || hexEnd < length && isValidAnchorChar(text.charAt(hexEnd))) {
+            return -1;
+        }
+        return hexEnd;
+    }
+
+    private static int skipWhitespace(CharSequence text, int pos) {
+        while (pos < text.length() && isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * 判断字符是否为有效的路径字符
+     * 包括：字母、数字、中文、路径分隔符、点、下划线、连字符
+     */
+    private static boolean isValidPathChar(char c) {
+        // 英文字母和数字
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            return true;
+        }
+
+        // 中文字符范围
+        if (c >= '\u4e00' && c <= '\u9fa5') {
+            return true;
+        }
+
+        // 路径分隔符和特殊字符
+        if (c == '/' || c == '\\' || c == '.' || c == '_' || c == '-') {
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * 判断字符是否为有效的锚点字符
+     * 包括：字母、数字、中文、下划线、连字符（与 GitHub 生成的标题锚点一致）
+     */
+    private static boolean isValidAnchorChar(char c) {
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            return true;
+        }
+
+        if (c >= '\u4e00' && c <= '\u9fa5') {
+            return true;
+        }
+
+        return c == '_' || c == '-';
+    }
+
+    /**
+     * 判断是否为空白字符（空格、制表符）
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    /**
+     * 判断是否为数字
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 判断是否为十六进制数字
+     */
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.saysawgames.filelinknavigator;
+
+import java.util.Arrays;
+
+/**
+ * 多标签匹配器
+ * 把所有标签编译成一棵字典树（trie），在某个位置上一次向前遍历即可同时匹配全部标签，
+ * 不再对每个标签分别调用 startsWith
+ * <p>
+ * 同一位置有多个标签可以匹配时，取配置顺序中靠前的那个，与原先逐个标签尝试的结果保持一致
+ */
+public final class DocLinkTagMatcher {
+
+    private static final int ASCII_LIMIT = 128;
+
+    private final String[] tags;
+    private final String[] tagNames;
+
+    // 每个节点的出边：edgeChars[node][k] 为字符，edgeTargets[node][k] 为对应的子节点
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    // 节点所表示的标签序号，-1 表示该节点不是任何标签的结尾
+    private final int[] terminal;
+
+    // 标签首字符的快速过滤表，绝大多数字符在这里就被排除
+    private final boolean[] asciiFirstChars = new boolean[ASCII_LIMIT];
+    private final char[] otherFirstChars;
+
+    public DocLinkTagMatcher(String[] tags) {
+        this.tags = tags.clone();
+        this.tagNames = new String[tags.length];
+
+        int nodeCapacity = 1;
+        for (String tag : tags) {
+            nodeCapacity += tag.length();
+        }
+        char[][] chars = new char[nodeCapacity][];
+        int[][] targets = new int[nodeCapacity][];
+        int[] terminals = new int[nodeCapacity];
+        Arrays.fill(terminals, -1);
+        chars[0] = new char[0];
+        targets[0] = new int[0];
+        int nodeCount = 1;
+
+        StringBuilder others = new StringBuilder();
+        for (int t = 0; t < tags.length; t++) {
+            String tag = tags[t];
+            // 提取标签名，去掉@和:
+            tagNames[t] = tag.length() > 1 ? tag.substring(1, tag.length() - 1) : "";
+            if (tag.isEmpty()) {
+                continue;
+            }
+
+            char first = tag.charAt(0);
+            if (first < ASCII_LIMIT) {
+                asciiFirstChars[first] = true;
+            } else if (others.indexOf(String.valueOf(first)) < 0) {
+                others.append(first);
+            }
+
+            int node = 0;
+            for (int i = 0; i < tag.length(); i++) {
+                int next = child(chars[node], targets[node], tag.charAt(i));
+                if (next < 0) {
+                    next = nodeCount++;
+                    chars[next] = new char[0];
+                    targets[next] = new int[0];
+                    int size = chars[node].length;
+                    chars[node] = Arrays.copyOf(chars[node], size + 1);
+                    targets[node] = Arrays.copyOf(targets[node], size + 1);
+                    chars[node][size] = tag.charAt(i);
+                    targets[node][size] = next;
+                }
+                node = next;
+            }
+            // 重复配置的标签只保留第一次出现的序号
+            if (terminals[node] < 0) {
+                terminals[node] = t;
+            }
+        }
+
+        this.edgeChars = Arrays.copyOf(chars, nodeCount);
+        this.edgeTargets = Arrays.copyOf(targets, nodeCount);
+        this.terminal = Arrays.copyOf(terminals, nodeCount);
+        this.otherFirstChars = others.toString().toCharArray();
+    }
+
+    /**
+     * 判断字符是否可能是某个标签的开头
+     */
+    public boolean isTagStart(char c) {
+        if (c < ASCII_LIMIT) {
+            return asciiFirstChars[c];
+        }
+        for (char other : otherFirstChars) {
+            if (other == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 匹配从 pos 开始的标签
+     *
+     * @return 匹配到的标签序号，没有匹配时返回 -1
+     */
+    public int match(CharSequence text, int pos) {
+        int best = -1;
+        int node = 0;
+        int length = text.length();
+        for (int i = pos; i < length; i++) {
+            node = child(edgeChars[node], edgeTargets[node], text.charAt(i));
+            if (node < 0) {
+                break;
+            }
+            int tag = terminal[node];
+            if (tag >= 0 && (best < 0 || tag < best)) {
+                best = tag;
+            }
+        }
+        return best;
+    }
+
+    public int getTagCount() {
+        return tags.length;
+    }
+
+    public String getTag(int index) {
+        return tags[index];
+    }
+
+    public int getTagLength(int index) {
+        return tags[index].length();
+    }
+
+    /**
+     * 标签名（不含@和:）
+     */
+    public String getTagName(int index) {
+        return tagNames[index];
+    }
+
+    private static int child(char[] chars, int[] targets, char c) {
+        for (int k = 0; k < chars.length; k++) {
+            if (chars[k] == c) {
+                return targets[k];
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,150 @@
+package com.saysawgames.filelinknavigator;
+
+/**
+ * 行内容指纹，用于在目标文件增删行后重新找到链接指向的行，如 notes.md:42~a1b2c3
+ * <p>
+ * 指纹是去掉首尾空白后整行内容的多项式哈希（高位在前的十六进制，链接中保留前 4~8 位）；
+ * 重新定位时先检查原行号，不匹配再对整个字符序列做一遍滚动哈希：逐字符累加，遇到换行时比较并归零，
+ * 匹配的行中取离原行号最近的一行
+ */
+public final class LineFingerprint {
+
+    // 链接中指纹的位数范围，插入链接时使用 DEFAULT_DIGITS 位
+    public static final int MIN_DIGITS = 4;
+    public static final int MAX_DIGITS = 8;
+    public static final int DEFAULT_DIGITS = 6;
+
+    private static final int BASE = 31;
+
+    private LineFingerprint() {
+    }
+
+    /**
+     * 计算一行内容的指纹字符串
+     *
+     * @param start 行起始偏移
+     * @param end   行结束偏移（不含换行符）
+     */
+    public static String of(CharSequence text, int start, int end) {
+        String hex = String.format("%08x", mix(hash(text, start, end)));
+        return hex.substring(0, DEFAULT_DIGITS);
+    }
+
+    /**
+     * 链接中的指纹是否与这一行匹配
+     */
+    public static boolean matches(CharSequence text, int start, int end, String fingerprint) {
+        Pattern pattern = Pattern.parse(fingerprint);
+        return pattern != null && pattern.matches(hash(text, start, end));
+    }
+
+    /**
+     * 在文本中查找与指纹匹配、离 expectedLine 最近的行
+     *
+     * @param expectedLine 链接中的行号（从 1 开始）
+     * @return 匹配的行号（从 1 开始），找不到时返回 -1
+     */
+    public static int locate(CharSequence text, int expectedLine, String fingerprint) {
+        Pattern pattern = Pattern.parse(fingerprint);
+        if (pattern == null) {
+            return -1;
+        }
+        int length = text.length();
+        int best = -1;
+        int line = 1;
+        int hash = 0;
+        int trimmedHash = 0;    // 到最后一个非空白字符为止的哈希，即去掉行尾空白后的值
+        boolean started = false;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : '\n';
+            if (c == '\n') {
+                if (pattern.matches(trimmedHash)) {
+                    if (best < 0 || Math.abs(line - expectedLine) < Math.abs(best - expectedLine)) {
+                        best = line;
+                    }
+                }
+                // 后面的行只会离原行号更远
+                if (best >= 0 && line - expectedLine >= Math.abs(best - expectedLine)) {
+                    break;
+                }
+                line++;
+                hash = 0;
+                trimmedHash = 0;
+                started = false;
+                continue;
+            }
+            boolean whitespace = isWhitespace(c);
+            if (!started && whitespace) {
+                continue;
+            }
+            started = true;
+            hash = hash * BASE + c;
+            if (!whitespace) {
+                trimmedHash = hash;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 去掉首尾空白后的多项式哈希，与 locate 中逐字符累加的结果一致
+     */
+    private static int hash(CharSequence text, int start, int end) {
+        while (start < end && isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = hash * BASE + text.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * 打散哈希的各位，使截取的高位也分布均匀
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    /**
+     * 解析后的指纹：混合后哈希的高 4 * 位数 位
+     */
+    private static final class Pattern {
+        final int value;
+        final int shift;
+
+        Pattern(int value, int shift) {
+            this.value = value;
+            this.shift = shift;
+        }
+
+        static Pattern parse(String fingerprint) {
+            if (fingerprint == null || fingerprint.length() < MIN_DIGITS || fingerprint.length() > MAX_DIGITS) {
+                return null;
+            }
+            try {
+                int value = (int) Long.parseLong(fingerprint, 16);
+                return new Pattern(value, 32 - fingerprint.length() * 4);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        boolean matches(int hash) {
+            return mix(hash) >>> shift == value;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.saysawgames.filelinknavigator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Markdown 大纲：标题锚点到行号的映射
+ * 使用轻量的流式扫描器逐行读取标题，不依赖 Markdown 插件的 PSI
+ * <p>
+ * 支持 ATX 标题（# Title）与 Setext 标题（下一行为 === 或 ---），跳过 ``` / ~~~ 代码块
+ */
+public final class MarkdownOutline {
+
+    public static final MarkdownOutline EMPTY = new MarkdownOutline(Collections.emptyList());
+
+    /**
+     * 大纲中的一个标题
+     */
+    public static class Heading {
+        public final int level;         // 标题级别 1~6
+        public final String text;       // 标题文本
+        public final String anchor;     // 锚点（GitHub 风格，重复的标题追加 -1、-2）
+        public final int lineNumber;    // 行号（从 1 开始）
+
+        public Heading(int level, String text, String anchor, int lineNumber) {
+            this.level = level;
+            this.text = text;
+            this.anchor = anchor;
+            this.lineNumber = lineNumber;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Heading{level=%d, text=%s, anchor=%s, line=%d}", level, text, anchor, lineNumber);
+        }
+    }
+
+    private final List<Heading> headings;
+    private final Map<String, Integer> lineByAnchor;
+
+    private MarkdownOutline(List<Heading> headings) {
+        this.headings = headings;
+        this.lineByAnchor = new HashMap<>();
+        for (Heading heading : headings) {
+            lineByAnchor.putIfAbsent(heading.anchor, heading.lineNumber);
+        }
+    }
+
+    public List<Heading> getHeadings() {
+        return headings;
+    }
+
+    /**
+     * 查找锚点对应的行号（忽略大小写）
+     *
+     * @return 行号（从 1 开始），找不到时返回 -1
+     */
+    public int findLine(String anchor) {
+        Integer line = lineByAnchor.get(toAnchor(anchor));
+        return line == null ? -1 : line;
+    }
+
+    /**
+     * 扫描文本，生成大纲
+     */
+    public static MarkdownOutline scan(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return EMPTY;
+        }
+
+        List<Heading> headings = new ArrayList<>();
+        Map<String, Integer> anchorCounts = new HashMap<>();
+
+        int length = text.length();
+        int lineNumber = 0;
+        int lineStart = 0;
+
+        // 代码块状态
+        char fenceChar = 0;
+        int fenceLength = 0;
+
+        // 上一行是否是可以作为 Setext 标题的普通段落行
+        int paragraphStart = -1;
+        int paragraphEnd = -1;
+
+        while (lineStart <= length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && text.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            // 兼容 \r\n
+            int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            lineNumber++;
+
+            // 计算缩进（制表符按 4 列计）
+            int pos = lineStart;
+            int indent = 0;
+            while (pos < contentEnd && isWhitespace(text.charAt(pos))) {
+                indent += text.charAt(pos) == '\t' ? 4 : 1;
+                pos++;
+            }
+
+            if (fenceChar != 0) {
+                // 代码块内：只检查结束标记
+                int run = countRun(text, pos, contentEnd, fenceChar);
+                if (indent <= 3 && run >= fenceLength && isBlank(text, pos + run, contentEnd)) {
+                    fenceChar = 0;
+                }
+                paragraphStart = -1;
+            } else if (pos >= contentEnd) {
+                // 空行结束段落
+                paragraphStart = -1;
+            } else if (indent > 3) {
+                // 段落中的续行；不在段落中时是缩进代码块
+                if (paragraphStart >= 0) {
+                    paragraphStart = pos;
+                    paragraphEnd = contentEnd;
+                }
+            } else {
+                char c = text.charAt(pos);
+                int run = countRun(text, pos, contentEnd, c);
+                if ((c == '`' || c == '~') && run >= 3) {
+                    fenceChar = c;
+                    fenceLength = run;
+                    paragraphStart = -1;
+                } else if (c == '#' && run <= 6 && (pos + run == contentEnd || isWhitespace(text.charAt(pos + run)))) {
+                    String title = atxTitle(text, pos + run, contentEnd);
+                    headings.add(newHeading(run, title, lineNumber, anchorCounts));
+                    paragraphStart = -1;
+                } else if ((c == '=' || c == '-') && paragraphStart >= 0 && isBlank(text, pos + run, contentEnd)) {
+                    String title = trim(text, paragraphStart, paragraphEnd);
+                    headings.add(newHeading(c == '=' ? 1 : 2, title, lineNumber - 1, anchorCounts));
+                    paragraphStart = -1;
+                } else {
+                    paragraphStart = pos;
+                    paragraphEnd = contentEnd;
+                }
+            }
+
+            lineStart = lineEnd + 1;
+        }
+
+        return headings.isEmpty() ? EMPTY : new MarkdownOutline(Collections.unmodifiableList(headings));
+    }
+
+    /**
+     * 生成 GitHub 风格的锚点：小写，去掉标点，空白替换为连字符
+     */
+    public static String toAnchor(String title) {
+        StringBuilder builder = new StringBuilder(title.length());
+        String lower = title.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '_' || c == '-') {
+                builder.append(c);
+            } else if (c == ' ' || c == '\t') {
+                builder.append('-');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static Heading newHeading(int level, String title, int lineNumber, Map<String, Integer> anchorCounts) {
+        String anchor = toAnchor(title);
+        int count = anchorCounts.merge(anchor, 1, Integer::sum);
+        if (count > 1) {
+            anchor = anchor + "-" + (count - 1);
+        }
+        return new Heading(level, title, anchor, lineNumber);
+    }
+
+    private static String atxTitle(CharSequence text, int start, int end) {
+        // 去掉结尾的 # 序列（前面必须是空白）
+        int titleEnd = end;
+        while (titleEnd > start && isWhitespace(text.charAt(titleEnd - 1))) {
+            titleEnd--;
+        }
+        int hashStart = titleEnd;
+        while (hashStart > start && text.charAt(hashStart - 1) == '#') {
+            hashStart--;
+        }
+        if (hashStart < titleEnd && (hashStart == start || isWhitespace(text.charAt(hashStart - 1)))) {
+            titleEnd = hashStart;
+        }
+        return trim(text, start, titleEnd);
+    }
+
+    private static int countRun(CharSequence text, int start, int end, char c) {
+        int pos = start;
+        while (pos < end && text.charAt(pos) == c) {
+            pos++;
+        }
+        return pos - start;
+    }
+
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String trim(CharSequence text, int start, int end) {
+        while (start < end && isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.subSequence(start, end).toString();
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+}
@@ -0,0 +1,28 @@
+package com.saysawgames.filelinknavigator;
+
+public class Utils {
+
+    // 移除路径中的双引号（处理Javadoc注释中的引号）
+    public static String formatPath(String filePath) {
+        // 去掉首尾的引号，没有引号时直接返回原字符串
+        int start = filePath.startsWith("\"") ? 1 : 0;
+        int end = filePath.length();
+        if (end > start && filePath.charAt(end - 1) == '"') {
+            end--;
+        }
+        return start == 0 && end == filePath.length() ? filePath : filePath.substring(start, end);
+    }
+
+    // 取路径中的文件名部分（最后一个 / 或 \ 之后的内容）
+    public static String getFileName(String filePath) {
+        int index = Math.max(filePath.lastIndexOf('/'), filePath.lastIndexOf('\\'));
+        return filePath.substring(index + 1);
+    }
+
+    // 是否只有文件名（不含目录分隔符），这样的链接可以按文件名在整个项目中查找
+    public static boolean isFileNameOnly(String filePath) {
+        return !filePath.isEmpty() && filePath.indexOf('/') < 0 && filePath.indexOf('\\') < 0
+            && !filePath.equals(".") && !filePath.equals("..");
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.saysawgames.filelinknavigator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DocLinkParser 的吞吐量与内存分配基准测试
+ * 运行：gradlew jmh （默认附带 GC profiler，输出 ops/s 与 gc.alloc.rate.norm）
+ * <p>
+ * 不依赖 IDE：配置直接通过 Constant.updateDocLinkPattern(String, String, String) 注入
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dfile.encoding=UTF-8"})
+public class DocLinkParserBenchmark {
+
+    /**
+     * 语料类型
+     */
+    public enum Corpus {
+        // 没有任何链接的普通注释（最常见的情况）
+        NO_LINKS,
+        // 每行都有链接
+        DENSE_LINKS,
+        // 数千行的 Javadoc / 许可证头，只有标签没有有效路径
+        HUGE_JAVADOC,
+        // 中文路径
+        CJK_PATHS,
+        // 配置了大量标签
+        MANY_TAGS,
+    }
+
+    private static final int LINES = 2000;
+    private static final int MANY_TAG_COUNT = 64;
+
+    @Param({"NO_LINKS", "DENSE_LINKS", "HUGE_JAVADOC", "CJK_PATHS", "MANY_TAGS"})
+    public Corpus corpus;
+
+    private String text;
+    private final DocLinkMatchBuffer buffer = new DocLinkMatchBuffer();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (corpus == Corpus.MANY_TAGS) {
+            Constant.updateDocLinkPattern(manyTags(), Constant.DEFAULT_SEPARATORS, Constant.DEFAULT_LINEPREFIXES);
+        } else {
+            Constant.updateDocLinkPattern(Constant.DEFAULT_TAGNAMES, Constant.DEFAULT_SEPARATORS, Constant.DEFAULT_LINEPREFIXES);
+        }
+        text = generate(corpus, new Random(20240101L));
+    }
+
+    @Benchmark
+    public List<DocLinkParser.DocLinkMatch> parseDocLinks() {
+        return DocLinkParser.parseDocLinks(text);
+    }
+
+    // 复用缓冲区的接口，稳定状态下 gc.alloc.rate.norm 应接近 0
+    @Benchmark
+    public int parseDocLinksIntoBuffer() {
+        return DocLinkParser.parseDocLinks(text, buffer);
+    }
+
+    private static String manyTags() {
+        StringBuilder builder = new StringBuilder(Constant.DEFAULT_TAGNAMES);
+        for (int i = 0; i < MANY_TAG_COUNT; i++) {
+            builder.append(",@tag").append(i);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 生成指定类型的注释文本
+     */
+    static String generate(Corpus corpus, Random random) {
+        StringBuilder builder = new StringBuilder(LINES * 64);
+        builder.append("/**\n");
+        for (int line = 0; line < LINES; line++) {
+            builder.append(" * ");
+            switch (corpus) {
+                case NO_LINKS:
+                    builder.append("Licensed under the Apache License, Version 2.0 (the \"License\"); line ").append(line);
+                    break;
+                case DENSE_LINKS:
+                    builder.append("@doc docs/design/module").append(line % 37).append(".md:").append(random.nextInt(500) + 1);
+                    builder.append(" and @markdown ./README.md#L").append(line + 1);
+                    break;
+                case HUGE_JAVADOC:
+                    // 有标签但没有有效路径，旧实现在这里退化为平方复杂度
+                    builder.append("@see #equals(Object) @param value the value, {@doc ").append("\t".repeat(line % 4)).append('}');
+                    break;
+                case CJK_PATHS:
+                    builder.append("参见 @doc 文档/设计/模块").append(line % 11).append("说明.md:").append(line + 1);
+                    break;
+                case MANY_TAGS:
+                    builder.append("@tag").append(random.nextInt(MANY_TAG_COUNT)).append(" notes/tag.md:").append(line + 1);
+                    builder.append(" plain text @ta @tag");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown corpus: " + corpus);
+            }
+            builder.append('\n');
+        }
+        builder.append(" */\n");
+        return builder.toString();
+    }
+}
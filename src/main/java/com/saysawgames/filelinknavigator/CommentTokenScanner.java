@@ -0,0 +1,169 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.editor.highlighter.HighlighterIterator;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.SyntaxHighlighter;
+import com.intellij.openapi.fileTypes.SyntaxHighlighterFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于语法高亮词法分析器的注释扫描，适用于所有提供了语法高亮的语言
+ * <p>
+ * 不需要构建 PSI：按语法高亮器给每个 token 分配的颜色键判断是否为注释
+ * （沿回退链查找行注释、块注释、文档注释等默认颜色键），
+ * 相邻的注释 token（中间只隔空白）合并为一段后交给回调
+ */
+public final class CommentTokenScanner {
+
+    // 注释相关的默认颜色键，各语言的注释颜色键最终都会回退到其中之一
+    private static final Set<TextAttributesKey> COMMENT_KEYS = Set.of(
+        DefaultLanguageHighlighterColors.LINE_COMMENT,
+        DefaultLanguageHighlighterColors.BLOCK_COMMENT,
+        DefaultLanguageHighlighterColors.DOC_COMMENT,
+        DefaultLanguageHighlighterColors.DOC_COMMENT_TAG,
+        DefaultLanguageHighlighterColors.DOC_COMMENT_TAG_VALUE,
+        DefaultLanguageHighlighterColors.DOC_COMMENT_MARKUP
+    );
+
+    /**
+     * 注释范围回调，范围为 [start, end)
+     */
+    public interface CommentConsumer {
+        /**
+         * @return false 时停止扫描
+         */
+        boolean comment(int start, int end);
+    }
+
+    private final SyntaxHighlighter highlighter;
+    // token 类型 → 是否为注释，同一次扫描中每种 token 只判断一次
+    private final Map<IElementType, Boolean> commentTypes = new HashMap<>();
+
+    private CommentTokenScanner(SyntaxHighlighter highlighter) {
+        this.highlighter = highlighter;
+    }
+
+    /**
+     * 为文件创建扫描器，文件类型没有语法高亮时返回 null
+     */
+    public static @Nullable CommentTokenScanner create(@NotNull FileType fileType, @Nullable Project project,
+                                                       @Nullable VirtualFile file) {
+        SyntaxHighlighter highlighter = SyntaxHighlighterFactory.getSyntaxHighlighter(fileType, project, file);
+        return highlighter == null ? null : new CommentTokenScanner(highlighter);
+    }
+
+    /**
+     * 用语法高亮器的词法分析器从头扫描文本，用于没有编辑器的场景（如建立索引）
+     */
+    public void scan(@NotNull CharSequence text, @NotNull CommentConsumer consumer) {
+        Lexer lexer = highlighter.getHighlightingLexer();
+        lexer.start(text);
+        int runStart = -1;
+        int runEnd = -1;
+        IElementType type;
+        while ((type = lexer.getTokenType()) != null) {
+            if (isComment(type)) {
+                if (runStart < 0) {
+                    runStart = lexer.getTokenStart();
+                }
+                runEnd = lexer.getTokenEnd();
+            } else if (runStart >= 0 && !isWhitespace(type, text, lexer.getTokenStart(), lexer.getTokenEnd())) {
+                if (!consumer.comment(runStart, runEnd)) {
+                    return;
+                }
+                runStart = -1;
+            }
+            lexer.advance();
+        }
+        if (runStart >= 0) {
+            consumer.comment(runStart, runEnd);
+        }
+    }
+
+    /**
+     * 用编辑器已有的高亮结果从迭代器当前位置扫描到 endOffset，不需要重新做词法分析
+     * 与范围相交的注释会完整地交给回调
+     */
+    public void scan(@NotNull HighlighterIterator iterator, int endOffset, @NotNull CommentConsumer consumer) {
+        CharSequence text = iterator.getDocument().getImmutableCharSequence();
+        // 起点可能落在由多个 token 组成的注释中间，先退回到这段注释的开头
+        while (!iterator.atEnd() && iterator.getStart() > 0) {
+            iterator.retreat();
+            if (iterator.atEnd()) {
+                iterator.advance();
+                break;
+            }
+            if (!isComment(iterator.getTokenType())
+                && !isWhitespace(iterator.getTokenType(), text, iterator.getStart(), iterator.getEnd())) {
+                iterator.advance();
+                break;
+            }
+        }
+
+        int runStart = -1;
+        int runEnd = -1;
+        while (!iterator.atEnd()) {
+            IElementType type = iterator.getTokenType();
+            if (isComment(type)) {
+                if (runStart < 0) {
+                    runStart = iterator.getStart();
+                }
+                runEnd = iterator.getEnd();
+            } else if (!isWhitespace(type, text, iterator.getStart(), iterator.getEnd())) {
+                if (runStart >= 0) {
+                    if (!consumer.comment(runStart, runEnd)) {
+                        return;
+                    }
+                    runStart = -1;
+                }
+                if (iterator.getStart() >= endOffset) {
+                    return;
+                }
+            }
+            iterator.advance();
+        }
+        if (runStart >= 0) {
+            consumer.comment(runStart, runEnd);
+        }
+    }
+
+    private boolean isComment(IElementType type) {
+        return commentTypes.computeIfAbsent(type, this::hasCommentKey);
+    }
+
+    private boolean hasCommentKey(IElementType type) {
+        for (TextAttributesKey key : highlighter.getTokenHighlights(type)) {
+            for (TextAttributesKey current = key; current != null; current = current.getFallbackAttributeKey()) {
+                if (COMMENT_KEYS.contains(current)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 文档注释内部的空白（如 Javadoc 的 DOC_SPACE）不一定是 WHITE_SPACE 类型，按内容判断
+    private static boolean isWhitespace(IElementType type, CharSequence text, int start, int end) {
+        if (type == TokenType.WHITE_SPACE) {
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.navigation.ChooseByNameContributorEx;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FindSymbolParameters;
+import com.intellij.util.indexing.IdFilter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * “Go to Doc Link” 的数据来源：名称为 DocLinkTargetIndex 的键（链接目标），
+ * 模糊匹配由平台在名称上完成，匹配到的名称再从索引中取出所有出现位置，
+ * 源文件所在模块没有启用的标签不显示
+ */
+public class DocLinkChooseByNameContributor implements ChooseByNameContributorEx {
+
+    @Override
+    public void processNames(@NotNull Processor<? super String> processor, @NotNull GlobalSearchScope scope,
+                             @Nullable IdFilter filter) {
+        FileBasedIndex.getInstance().processAllKeys(DocLinkTargetIndex.NAME, processor, scope, filter);
+    }
+
+    @Override
+    public void processElementsWithName(@NotNull String name, @NotNull Processor<? super NavigationItem> processor,
+                                        @NotNull FindSymbolParameters parameters) {
+        Project project = parameters.getProject();
+        FileBasedIndex.getInstance().processValues(DocLinkTargetIndex.NAME, name, null, (sourceFile, locations) -> {
+            DocLinkConfig config = DocLinkConfigService.getConfig(project, sourceFile);
+            for (DocLinkTargetIndex.Location location : locations) {
+                if (!config.hasTagName(location.tagName)) {
+                    continue;
+                }
+                if (!processor.process(new DocLinkNavigationItem(project, sourceFile, name, location))) {
+                    return false;
+                }
+            }
+            return true;
+        }, parameters.getSearchScope(), parameters.getIdFilter());
+    }
+}
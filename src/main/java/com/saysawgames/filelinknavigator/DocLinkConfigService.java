@@ -0,0 +1,228 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.saysawgames.filelinknavigator.settings.ProjectSettingsState;
+import com.saysawgames.filelinknavigator.settings.SettingsState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按项目、模块取得生效的链接配置（项目级）
+ * <p>
+ * 字段逐级沿用：模块设置 → 项目设置 → 应用级设置，留空表示沿用上一级；
+ * 每种不同的（标签, 分隔符, 前缀）组合只编译一次，编译结果按内容缓存，设置来回切换也不会重新编译；
+ * 每个模块生效的配置同样缓存，解析时只需一次查表
+ * <p>
+ * 没有任何项目级或模块级设置时直接返回 Constant 中的应用级配置
+ */
+public final class DocLinkConfigService {
+
+    private final Project project;
+    // "标签\n分隔符\n前缀" → 编译后的配置
+    private final Map<String, DocLinkConfig> compiled = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+
+    /**
+     * 一个模块（或整个项目）生效的设置
+     */
+    private static final class Effective {
+        final DocLinkConfig config;
+        final List<String> docRoots;
+
+        Effective(DocLinkConfig config, List<String> docRoots) {
+            this.config = config;
+            this.docRoots = docRoots;
+        }
+    }
+
+    /**
+     * 某一时刻所有设置的计算结果，设置变化后整体替换
+     */
+    private static final class Snapshot {
+        final DocLinkConfig applicationConfig;     // 计算时的应用级配置，被替换后快照失效
+        final boolean customized;                  // 是否有项目级或模块级设置
+        final Effective project;
+        final Map<String, Effective> modules;      // 模块名 → 设置，只包含有覆盖的模块
+
+        Snapshot(DocLinkConfig applicationConfig, boolean customized, Effective project, Map<String, Effective> modules) {
+            this.applicationConfig = applicationConfig;
+            this.customized = customized;
+            this.project = project;
+            this.modules = modules;
+        }
+    }
+
+    public DocLinkConfigService(Project project) {
+        this.project = project;
+    }
+
+    public static DocLinkConfigService getInstance(@NotNull Project project) {
+        return project.getService(DocLinkConfigService.class);
+    }
+
+    /**
+     * 元素所在文件生效的配置
+     */
+    public static @NotNull DocLinkConfig getConfig(@NotNull PsiElement element) {
+        PsiFile file = element.getContainingFile();
+        return getConfig(element.getProject(), file == null ? null : file.getOriginalFile().getVirtualFile());
+    }
+
+    /**
+     * 文件生效的配置，没有项目或文件时使用应用级配置
+     */
+    public static @NotNull DocLinkConfig getConfig(@Nullable Project project, @Nullable VirtualFile file) {
+        if (project == null || project.isDefault() || project.isDisposed()) {
+            return getApplicationConfig();
+        }
+        return getInstance(project).getEffective(file).config;
+    }
+
+    /**
+     * 应用级配置：先确保 SettingsState 已加载（加载时把设置发布到 Constant），再取 Constant 中的配置
+     */
+    public static @NotNull DocLinkConfig getApplicationConfig() {
+        SettingsState.getInstance();
+        return Constant.getConfig();
+    }
+
+    /**
+     * 文件所在模块的额外文档根目录（项目级和模块级设置中存在的目录）
+     */
+    public @NotNull List<VirtualFile> getDocRoots(@Nullable VirtualFile file) {
+        List<String> paths = getEffective(file).docRoots;
+        if (paths.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<VirtualFile> roots = new ArrayList<>(paths.size());
+        VirtualFile base = project.getBaseDir();
+        for (String path : paths) {
+            VirtualFile root = isAbsolute(path) ? LocalFileSystem.getInstance().findFileByPath(path)
+                : base == null ? null : base.findFileByRelativePath(path);
+            if (root != null && root.isDirectory()) {
+                roots.add(root);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * 项目级或模块级设置变化后调用：重新计算生效的设置，已编译的配置保留
+     */
+    public void settingsChanged() {
+        snapshot = null;
+        Constant.settingsChanged();
+        DocLinkResolver.getInstance(project).clearCache();
+    }
+
+    /**
+     * 只有文档根目录变化时调用：重新计算生效的设置并清空路径解析缓存，解析结果缓存保留
+     */
+    public void docRootsChanged() {
+        snapshot = null;
+        DocLinkResolver.getInstance(project).clearCache();
+    }
+
+    private Effective getEffective(@Nullable VirtualFile file) {
+        Snapshot current = getSnapshot();
+        if (!current.customized || current.modules.isEmpty() || file == null) {
+            return current.project;
+        }
+        Module module = ProjectFileIndex.getInstance(project).getModuleForFile(file);
+        Effective effective = module == null ? null : current.modules.get(module.getName());
+        return effective != null ? effective : current.project;
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        DocLinkConfig applicationConfig = getApplicationConfig();
+        if (current == null || current.applicationConfig != applicationConfig) {
+            current = createSnapshot(applicationConfig);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot createSnapshot(DocLinkConfig applicationConfig) {
+        ProjectSettingsState state = ProjectSettingsState.getInstance(project);
+        SettingsState application = SettingsState.getInstance();
+        String tagNames = application != null ? application.tagNames : Constant.DEFAULT_TAGNAMES;
+        String separators = application != null ? application.separators : Constant.DEFAULT_SEPARATORS;
+        String linePrefixes = application != null ? application.linePrefixes : Constant.DEFAULT_LINEPREFIXES;
+
+        boolean customized = !isBlank(state.tagNames) || !isBlank(state.separators) || !isBlank(state.linePrefixes);
+        String projectTags = inherit(state.tagNames, tagNames);
+        String projectSeparators = inherit(state.separators, separators);
+        String projectPrefixes = inherit(state.linePrefixes, linePrefixes);
+        List<String> projectRoots = split(state.docRoots);
+        Effective projectEffective = new Effective(
+            customized ? getCompiled(projectTags, projectSeparators, projectPrefixes) : applicationConfig, projectRoots);
+
+        Map<String, Effective> modules = new HashMap<>();
+        for (ProjectSettingsState.ModuleSettings module : state.modules) {
+            if (isBlank(module.moduleName)) {
+                continue;
+            }
+            List<String> roots = new ArrayList<>(split(module.docRoots));
+            roots.addAll(projectRoots);
+            modules.put(module.moduleName.trim(), new Effective(getCompiled(
+                inherit(module.tagNames, projectTags),
+                inherit(module.separators, projectSeparators),
+                inherit(module.linePrefixes, projectPrefixes)), roots));
+        }
+        return new Snapshot(applicationConfig, customized || !modules.isEmpty(), projectEffective, modules);
+    }
+
+    /**
+     * 按内容取得编译后的配置，相同内容只编译一次
+     */
+    private DocLinkConfig getCompiled(String tagNames, String separators, String linePrefixes) {
+        return compiled.computeIfAbsent(tagNames + '\n' + separators + '\n' + linePrefixes,
+            key -> Constant.compile(tagNames, separators, linePrefixes, Constant.nextVersion()));
+    }
+
+    private static String inherit(String value, String parent) {
+        return isBlank(value) ? parent : value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static List<String> split(String value) {
+        if (isBlank(value)) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isAbsolute(String path) {
+        try {
+            return Paths.get(path).isAbsolute();
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.lang.documentation.AbstractDocumentationProvider;
+import com.intellij.lang.documentation.DocumentationMarkup;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 链接的悬停预览：显示目标文件中链接行附近的内容
+ * 片段由 SnippetCache 读取和缓存，连续悬停多个链接时不会重复读取文件
+ */
+public class DocLinkDocumentationProvider extends AbstractDocumentationProvider {
+
+    @Override
+    public @Nullable @Nls String generateDoc(PsiElement element, @Nullable PsiElement originalElement) {
+        if (!(element instanceof DocLinkReference.NavigatablePsiFileElement)) {
+            return null;
+        }
+        DocLinkReference.NavigatablePsiFileElement target = (DocLinkReference.NavigatablePsiFileElement) element;
+        VirtualFile file = target.getVirtualFile();
+        if (file == null || !file.isValid() || file.isDirectory()) {
+            return null;
+        }
+
+        int lineNumber = target.getLineNumber();
+        StringBuilder html = new StringBuilder();
+        html.append(DocumentationMarkup.DEFINITION_START)
+            .append(StringUtil.escapeXmlEntities(file.getName())).append(':').append(lineNumber)
+            .append(DocumentationMarkup.DEFINITION_END);
+
+        SnippetCache.Snippet snippet = SnippetCache.getSnippet(file, lineNumber);
+        if (snippet != null && !snippet.lines.isEmpty()) {
+            html.append(DocumentationMarkup.CONTENT_START).append("<pre>");
+            for (int i = 0; i < snippet.lines.size(); i++) {
+                int line = snippet.firstLine + i;
+                String text = StringUtil.escapeXmlEntities(snippet.lines.get(i));
+                // 目标行加粗显示
+                if (line == lineNumber) {
+                    html.append("<b>").append(String.format("%4d  ", line)).append(text).append("</b>\n");
+                } else {
+                    html.append(String.format("%4d  ", line)).append(text).append('\n');
+                }
+            }
+            html.append("</pre>").append(DocumentationMarkup.CONTENT_END);
+        }
+
+        html.append(DocumentationMarkup.SECTIONS_START)
+            .append(DocumentationMarkup.SECTION_HEADER_START).append("Path:")
+            .append(DocumentationMarkup.SECTION_SEPARATOR)
+            .append(StringUtil.escapeXmlEntities(file.getPresentableUrl()))
+            .append(DocumentationMarkup.SECTION_END)
+            .append(DocumentationMarkup.SECTIONS_END);
+        return html.toString();
+    }
+
+    @Override
+    public @Nullable @Nls String getQuickNavigateInfo(PsiElement element, PsiElement originalElement) {
+        if (!(element instanceof DocLinkReference.NavigatablePsiFileElement)) {
+            return null;
+        }
+        DocLinkReference.NavigatablePsiFileElement target = (DocLinkReference.NavigatablePsiFileElement) element;
+        VirtualFile file = target.getVirtualFile();
+        if (file == null || !file.isValid() || file.isDirectory()) {
+            return null;
+        }
+        // Ctrl+悬停只显示目标行本身
+        SnippetCache.Snippet snippet = SnippetCache.getSnippet(file, target.getLineNumber());
+        int index = target.getLineNumber() - (snippet == null ? 0 : snippet.firstLine);
+        String line = snippet != null && index >= 0 && index < snippet.lines.size() ? snippet.lines.get(index).trim() : "";
+        return StringUtil.escapeXmlEntities(file.getName() + ":" + target.getLineNumber() + (line.isEmpty() ? "" : "  " + line));
+    }
+}
@@ -0,0 +1,89 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.ide.util.NavigationItemListCellRenderer;
+import com.intellij.ide.util.gotoByName.FilteringGotoByModel;
+import com.intellij.navigation.ChooseByNameContributor;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.ArrayUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.List;
+
+/**
+ * “Go to Doc Link” 的 ChooseByName 模型，可按源文件类型过滤
+ */
+public class DocLinkGotoModel extends FilteringGotoByModel<FileType> {
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Enter link target:",
+        "No doc links found in project",
+        "No matching doc links found",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "输入链接目标：",
+        "项目中没有文档链接",
+        "没有匹配的文档链接",
+    };*/
+
+    public DocLinkGotoModel(@NotNull Project project) {
+        super(project, List.<ChooseByNameContributor>of(new DocLinkChooseByNameContributor()));
+    }
+
+    @Override
+    protected @Nullable FileType filterValueFor(NavigationItem item) {
+        return item instanceof DocLinkNavigationItem ? ((DocLinkNavigationItem) item).getSourceFile().getFileType() : null;
+    }
+
+    @Override
+    public String getPromptText() {
+        return SELECT_NAME[0];
+    }
+
+    @Override
+    public @NotNull String getNotInMessage() {
+        return SELECT_NAME[1];
+    }
+
+    @Override
+    public @NotNull String getNotFoundMessage() {
+        return SELECT_NAME[2];
+    }
+
+    @Override
+    public @Nullable String getCheckBoxName() {
+        return null;
+    }
+
+    @Override
+    public boolean loadInitialCheckBoxState() {
+        return false;
+    }
+
+    @Override
+    public void saveInitialCheckBoxState(boolean state) {
+    }
+
+    @Override
+    public String @NotNull [] getSeparators() {
+        return ArrayUtil.EMPTY_STRING_ARRAY;
+    }
+
+    @Override
+    public @Nullable String getFullName(@NotNull Object element) {
+        return element instanceof NavigationItem ? ((NavigationItem) element).getName() : null;
+    }
+
+    @Override
+    public boolean willOpenEditor() {
+        return true;
+    }
+
+    @Override
+    public @NotNull ListCellRenderer<?> getListCellRenderer() {
+        return new NavigationItemListCellRenderer();
+    }
+}
@@ -0,0 +1,213 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.codeHighlighting.TextEditorHighlightingPass;
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.codeInsight.daemon.impl.HighlightInfoType;
+import com.intellij.codeInsight.daemon.impl.UpdateHighlightersUtil;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.editor.ex.EditorEx;
+import com.intellij.openapi.editor.highlighter.EditorHighlighter;
+import com.intellij.openapi.editor.markup.EffectType;
+import com.intellij.openapi.editor.markup.TextAttributes;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.JBColor;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于词法分析的链接高亮，不依赖 PSI 树，取代原先对每个 PSI 元素调用一次的 DocLinkAnnotator
+ * 直接读取编辑器已有的语法高亮结果找出注释，整个文件一次扫描完成，适用于所有提供了语法高亮的语言
+ * <p>
+ * 分成两个 pass：先扫描可见范围（与之相交的注释），完成后由守护进程立即应用到编辑器，
+ * 再由第二个 pass 扫描文件其余部分，大文件打开后链接样式可以马上出现；
+ * 两个 pass 的结果都通过各自的 doApplyInformationToEditor 应用，分属不同的 pass id，互不覆盖；
+ * 每个链接只创建一个 HighlightInfo，样式使用同一个静态注册的 DOC_LINK 颜色键
+ * <p>
+ * 高亮结果应用到编辑器之后，再用一个可中断的后台读操作把本次扫描到的链接路径交给
+ * DocLinkResolver.resolveAll 批量解析，不占用高亮的关键路径；
+ * 之后引用解析、悬停和跳转都直接命中缓存，不会在 EDT 上逐个查找文件
+ */
+public class DocLinkHighlightingPass extends TextEditorHighlightingPass {
+
+    // 链接样式（蓝色下划线），只创建一次
+    public static final TextAttributesKey DOC_LINK = TextAttributesKey.createTextAttributesKey("DOC_LINK", createLinkAttributes());
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Navigate to ",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "导航到 ",
+    };*/
+
+    private final Editor editor;
+    private final CommentTokenScanner scanner;
+    private final TextRange visibleRange;
+    // true：只处理与可见范围相交的注释；false：只处理其余注释
+    private final boolean visiblePart;
+    private final List<HighlightInfo> infos = new ArrayList<>();
+    // 本文件中出现的链接路径（已去掉引号）
+    private final Set<String> filePaths = new HashSet<>();
+
+    DocLinkHighlightingPass(@NotNull Project project, @NotNull Editor editor, @NotNull CommentTokenScanner scanner,
+                            @NotNull TextRange visibleRange, boolean visiblePart) {
+        super(project, editor.getDocument(), true);
+        this.editor = editor;
+        this.scanner = scanner;
+        this.visibleRange = visibleRange;
+        this.visiblePart = visiblePart;
+    }
+
+    @Override
+    public void doCollectInformation(@NotNull ProgressIndicator progress) {
+        long start = DocLinkMetrics.start();
+        try {
+            infos.clear();
+            filePaths.clear();
+            collectInformation();
+        } finally {
+            DocLinkMetrics.HIGHLIGHT.record(start);
+        }
+    }
+
+    private void collectInformation() {
+        Document document = editor.getDocument();
+        CharSequence text = document.getImmutableCharSequence();
+        DocLinkConfig config = DocLinkConfigService.getConfig(myProject, FileDocumentManager.getInstance().getFile(document));
+        DocLinkMatchBuffer buffer = new DocLinkMatchBuffer();
+        if (!(editor instanceof EditorEx)) {
+            // 没有编辑器高亮器时不区分可见范围，由第二个 pass 直接用词法分析器扫描整个文件
+            if (visiblePart) {
+                return;
+            }
+            scanner.scan(text, (start, end) -> {
+                collect(text, start, end, buffer, config);
+                return true;
+            });
+            return;
+        }
+        // 编辑器的高亮器已经完成了词法分析，直接复用
+        EditorHighlighter highlighter = ((EditorEx) editor).getHighlighter();
+
+        int length = text.length();
+        int visibleStart = Math.min(visibleRange.getStartOffset(), length);
+        int visibleEnd = Math.min(visibleRange.getEndOffset(), length);
+
+        // 1. 可见范围：与之相交的注释都算在这一段内，记录实际覆盖的范围
+        // 两个 pass 都做这一步（只遍历 token），第二个 pass 据此跳过已由第一个 pass 处理的注释
+        int[] covered = {visibleStart, visibleEnd};
+        scan(highlighter, visibleStart, visibleEnd, (start, end) -> {
+            covered[0] = Math.min(covered[0], start);
+            covered[1] = Math.max(covered[1], end);
+            if (visiblePart) {
+                collect(text, start, end, buffer, config);
+            }
+            return true;
+        });
+        if (visiblePart) {
+            return;
+        }
+
+        // 2. 可见范围之前、之后的部分
+        scan(highlighter, 0, covered[0], (start, end) -> {
+            if (start >= covered[0]) {
+                return false;
+            }
+            collect(text, start, end, buffer, config);
+            return true;
+        });
+        scan(highlighter, covered[1], length, (start, end) -> {
+            if (start >= covered[1]) {
+                collect(text, start, end, buffer, config);
+            }
+            return true;
+        });
+    }
+
+    private void scan(EditorHighlighter highlighter, int start, int end, CommentTokenScanner.CommentConsumer consumer) {
+        if (start < end) {
+            scanner.scan(highlighter.createIterator(start), end, consumer);
+        }
+    }
+
+    private void collect(CharSequence text, int start, int end, DocLinkMatchBuffer buffer, DocLinkConfig config) {
+        ProgressManager.checkCanceled();
+        CharSequence comment = text.subSequence(start, end);
+        int count = DocLinkParser.parseDocLinks(comment, buffer, config);
+        for (int i = 0; i < count; i++) {
+            HighlightInfo info = createInfo(buffer, i, comment, start);
+            if (info != null) {
+                infos.add(info);
+            }
+        }
+    }
+
+    private HighlightInfo createInfo(DocLinkMatchBuffer buffer, int index, CharSequence comment, int commentStart) {
+        String filePath = Utils.formatPath(buffer.getFilePath(index, comment));
+        filePaths.add(filePath);
+        String anchor = buffer.getAnchor(index, comment);
+        int lineNumber = buffer.getLineNumber(index);
+        String fingerprint = buffer.getFingerprint(index, comment);
+        String target = anchor != null ? filePath + "#" + anchor : filePath + ":" + lineNumber;
+        return HighlightInfo.newHighlightInfo(HighlightInfoType.INFORMATION)
+            .range(commentStart + buffer.getStart(index), commentStart + buffer.getEnd(index))
+            .textAttributes(DOC_LINK)
+            .descriptionAndTooltip(SELECT_NAME[0] + target)
+            .registerFix(new NavigateToDocIntentionAction(filePath, lineNumber, anchor, fingerprint), null, null, null, null)
+            .create();
+    }
+
+    /**
+     * 由守护进程在 EDT 上调用（已检查文档未修改、pass 未取消），两个 pass 各自替换自己 pass id 下的全部结果
+     */
+    @Override
+    public void doApplyInformationToEditor() {
+        Document document = editor.getDocument();
+        UpdateHighlightersUtil.setHighlightersToEditor(myProject, document, 0, document.getTextLength(),
+            infos, getColorsScheme(), getId());
+        warmResolver(document);
+    }
+
+    /**
+     * 在后台预先批量解析本次扫描到的链接路径，遇到写操作时中断并重新开始
+     * 同一文件同一部分的预热只保留最新的一次
+     */
+    private void warmResolver(Document document) {
+        VirtualFile sourceFile = FileDocumentManager.getInstance().getFile(document);
+        if (sourceFile == null || filePaths.isEmpty()) {
+            return;
+        }
+        Project project = myProject;
+        List<String> paths = new ArrayList<>(filePaths);
+        ReadAction.nonBlocking(() -> {
+                DocLinkResolver.getInstance(project).resolveAll(sourceFile, paths);
+            })
+            .expireWith(project)
+            .coalesceBy(DocLinkHighlightingPass.class, sourceFile, visiblePart)
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * 创建链接样式的文本属性（蓝色下划线）
+     */
+    private static TextAttributes createLinkAttributes() {
+        TextAttributes attributes = new TextAttributes();
+        attributes.setForegroundColor(new JBColor(new Color(0, 102, 204), new Color(100, 150, 255)));
+        attributes.setEffectType(EffectType.LINE_UNDERSCORE);
+        attributes.setEffectColor(new JBColor(new Color(0, 102, 204), new Color(100, 150, 255)));
+        return attributes;
+    }
+}
@@ -0,0 +1,48 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.codeHighlighting.TextEditorHighlightingPass;
+import com.intellij.codeHighlighting.TextEditorHighlightingPassFactory;
+import com.intellij.codeHighlighting.TextEditorHighlightingPassFactoryRegistrar;
+import com.intellij.codeHighlighting.TextEditorHighlightingPassRegistrar;
+import com.intellij.codeInsight.daemon.impl.VisibleHighlightingPassFactory;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.ex.EditorEx;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 为所有语言创建基于词法分析的链接高亮
+ * 注册两个 pass：可见范围的 pass 先完成并应用，文件其余部分的 pass 在它完成后运行
+ */
+public class DocLinkHighlightingPassFactory implements TextEditorHighlightingPassFactory,
+    TextEditorHighlightingPassFactoryRegistrar {
+
+    @Override
+    public void registerHighlightingPassFactory(@NotNull TextEditorHighlightingPassRegistrar registrar,
+                                               @NotNull Project project) {
+        int visiblePassId = registrar.registerTextEditorHighlightingPass(
+            (file, editor) -> createPass(file, editor, true), null, null, false, -1);
+        registrar.registerTextEditorHighlightingPass(this, new int[]{visiblePassId}, null, false, -1);
+    }
+
+    @Override
+    public @Nullable TextEditorHighlightingPass createHighlightingPass(@NotNull PsiFile file, @NotNull Editor editor) {
+        return createPass(file, editor, false);
+    }
+
+    private static @Nullable TextEditorHighlightingPass createPass(@NotNull PsiFile file, @NotNull Editor editor,
+                                                                   boolean visiblePart) {
+        // 没有编辑器高亮器时不区分可见范围，只创建处理整个文件的 pass
+        if (visiblePart && !(editor instanceof EditorEx)) {
+            return null;
+        }
+        CommentTokenScanner scanner = CommentTokenScanner.create(file.getFileType(), file.getProject(), file.getVirtualFile());
+        if (scanner == null) {
+            return null;
+        }
+        return new DocLinkHighlightingPass(file.getProject(), editor, scanner,
+            VisibleHighlightingPassFactory.calculateVisibleRange(editor), visiblePart);
+    }
+}
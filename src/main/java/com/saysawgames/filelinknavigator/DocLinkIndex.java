@@ -0,0 +1,265 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文档链接的持久化索引，用于从文档反查引用它的代码注释（双向关联）
+ * <p>
+ * 键：链接目标的文件名（不含目录），值：该源文件中指向此文件名的所有链接
+ * 索引只依赖源文件自身的内容，目标路径在查询时再通过 DocLinkResolver 解析并过滤，
+ * 这样目标文件的创建、删除不会让索引失效，源文件修改时由平台增量更新
+ * <p>
+ * 索引数据在项目之间共享、跨会话复用，因此不查找文件所在的模块，而是用所有设置的并集解析（见 DocLinkIndexConfig），
+ * 查询时再按源文件生效的配置过滤掉该模块没有启用的标签（见 processLinksTo）
+ * <p>
+ * 注释通过语法高亮的词法分析器（CommentTokenScanner）查找，不构建 PSI，适用于所有语言
+ */
+public class DocLinkIndex extends FileBasedIndexExtension<String, List<DocLinkIndex.Entry>> {
+
+    public static final ID<String, List<Entry>> NAME = ID.create("com.saysawgames.filelinknavigator.DocLinkIndex");
+
+    // 索引线程内复用的解析缓冲区
+    private static final ThreadLocal<DocLinkMatchBuffer> BUFFER = ThreadLocal.withInitial(DocLinkMatchBuffer::new);
+    // 一次扫描的结果，挂在 FileContent 上供本文件的其他索引复用
+    private static final Key<List<Entry>> ENTRIES = Key.create("com.saysawgames.filelinknavigator.DocLinkIndex.entries");
+
+    /**
+     * 索引中的一条链接
+     */
+    public static class Entry {
+        public final String tagName;    // 标签名（不含@和:）
+        public final int start;         // 链接在源文件中的起始偏移
+        public final int end;           // 链接在源文件中的结束偏移
+        public final int pathStart;     // 路径（含引号）在源文件中的起始偏移
+        public final int pathEnd;       // 路径（含引号）在源文件中的结束偏移
+        public final int lineNumber;    // 行号，没有行号时为 0
+        public final String filePath;   // 链接中的文件路径
+        public final String anchor;     // 标题锚点，没有时为 null
+        public final String fingerprint;    // 行内容指纹，没有时为 null
+
+        public Entry(String tagName, int start, int end, int pathStart, int pathEnd, int lineNumber, String filePath,
+                     String anchor, String fingerprint) {
+            this.tagName = tagName;
+            this.start = start;
+            this.end = end;
+            this.pathStart = pathStart;
+            this.pathEnd = pathEnd;
+            this.lineNumber = lineNumber;
+            this.filePath = filePath;
+            this.anchor = anchor;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * 查询结果：源文件 + 链接
+     */
+    public static class Link {
+        public final VirtualFile sourceFile;
+        public final Entry entry;
+
+        public Link(VirtualFile sourceFile, Entry entry) {
+            this.sourceFile = sourceFile;
+            this.entry = entry;
+        }
+    }
+
+    @Override
+    public @NotNull ID<String, List<Entry>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<Entry>, FileContent> getIndexer() {
+        return inputData -> {
+            List<Entry> entries = getEntries(inputData);
+            if (entries.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, List<Entry>> result = new HashMap<>();
+            for (Entry entry : entries) {
+                String fileName = Utils.getFileName(entry.filePath);
+                if (!fileName.isEmpty()) {
+                    result.computeIfAbsent(fileName, key -> new ArrayList<>()).add(entry);
+                }
+            }
+            return result;
+        };
+    }
+
+    /**
+     * 扫描文件中所有注释里的链接，按偏移升序排列
+     * 结果记录在 FileContent 上，同一文件的多个索引（如 DocLinkTargetIndex）共用一次扫描
+     */
+    static @NotNull List<Entry> getEntries(@NotNull FileContent inputData) {
+        List<Entry> entries = inputData.getUserData(ENTRIES);
+        if (entries == null) {
+            entries = scanEntries(inputData);
+            inputData.putUserData(ENTRIES, entries);
+        }
+        return entries;
+    }
+
+    private static List<Entry> scanEntries(FileContent inputData) {
+        // 索引结果不按模块区分，使用应用级、项目级、模块级设置的并集
+        DocLinkConfig config = DocLinkIndexConfig.getConfig();
+        // 快速过滤：整个文件都没有链接时不做词法分析
+        if (DocLinkParser.parseDocLinks(inputData.getContentAsText(), BUFFER.get(), config) == 0) {
+            return Collections.emptyList();
+        }
+
+        CommentTokenScanner scanner = CommentTokenScanner.create(inputData.getFileType(), inputData.getProject(), inputData.getFile());
+        if (scanner == null) {
+            return Collections.emptyList();
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        CharSequence text = inputData.getContentAsText();
+        scanner.scan(text, (start, end) -> {
+            scanComment(text.subSequence(start, end), start, config, entries);
+            return true;
+        });
+        return entries;
+    }
+
+    private static void scanComment(CharSequence text, int commentStart, DocLinkConfig config, List<Entry> entries) {
+        DocLinkMatchBuffer buffer = BUFFER.get();
+        int count = DocLinkParser.parseDocLinks(text, buffer, config);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(
+                buffer.getTagName(i),
+                commentStart + buffer.getStart(i),
+                commentStart + buffer.getEnd(i),
+                commentStart + buffer.getPathStart(i),
+                commentStart + buffer.getPathEnd(i),
+                buffer.hasLineNumber(i) ? buffer.getLineNumber(i) : 0,
+                Utils.formatPath(buffer.getFilePath(i, text)),
+                buffer.getAnchor(i, text),
+                buffer.getFingerprint(i, text)
+            ));
+        }
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<Entry>> getValueExternalizer() {
+        return new DataExternalizer<>() {
+            @Override
+            public void save(@NotNull DataOutput out, List<Entry> value) throws IOException {
+                DataInputOutputUtil.writeINT(out, value.size());
+                for (Entry entry : value) {
+                    IOUtil.writeUTF(out, entry.tagName);
+                    DataInputOutputUtil.writeINT(out, entry.start);
+                    DataInputOutputUtil.writeINT(out, entry.end - entry.start);
+                    DataInputOutputUtil.writeINT(out, entry.pathStart - entry.start);
+                    DataInputOutputUtil.writeINT(out, entry.pathEnd - entry.pathStart);
+                    DataInputOutputUtil.writeINT(out, entry.lineNumber);
+                    IOUtil.writeUTF(out, entry.filePath);
+                    IOUtil.writeUTF(out, entry.anchor == null ? "" : entry.anchor);
+                    IOUtil.writeUTF(out, entry.fingerprint == null ? "" : entry.fingerprint);
+                }
+            }
+
+            @Override
+            public List<Entry> read(@NotNull DataInput in) throws IOException {
+                int size = DataInputOutputUtil.readINT(in);
+                List<Entry> entries = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    String tagName = IOUtil.readUTF(in);
+                    int start = DataInputOutputUtil.readINT(in);
+                    int end = start + DataInputOutputUtil.readINT(in);
+                    int pathStart = start + DataInputOutputUtil.readINT(in);
+                    int pathEnd = pathStart + DataInputOutputUtil.readINT(in);
+                    int lineNumber = DataInputOutputUtil.readINT(in);
+                    String filePath = IOUtil.readUTF(in);
+                    String anchor = IOUtil.readUTF(in);
+                    String fingerprint = IOUtil.readUTF(in);
+                    entries.add(new Entry(tagName, start, end, pathStart, pathEnd, lineNumber, filePath, anchor.isEmpty() ? null : anchor,
+                        fingerprint.isEmpty() ? null : fingerprint));
+                }
+                return entries;
+            }
+        };
+    }
+
+    @Override
+    public int getVersion() {
+        return 7;
+    }
+
+    @Override
+    public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+        return file -> !file.isDirectory() && !file.getFileType().isBinary();
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * 遍历所有指向目标文件的链接
+     * 先按文件名取出候选，去掉源文件所在模块没有启用的标签，再通过 DocLinkResolver 逐个确认确实解析到目标文件
+     */
+    public static boolean processLinksTo(@NotNull Project project, @NotNull VirtualFile targetFile,
+                                         @NotNull GlobalSearchScope scope, @NotNull Processor<? super Link> processor) {
+        DocLinkResolver resolver = DocLinkResolver.getInstance(project);
+        return FileBasedIndex.getInstance().processValues(NAME, targetFile.getName(), null, (sourceFile, entries) -> {
+            DocLinkConfig config = DocLinkConfigService.getConfig(project, sourceFile);
+            for (Entry entry : entries) {
+                if (!config.hasTagName(entry.tagName)) {
+                    continue;
+                }
+                VirtualFile resolved = resolver.resolve(sourceFile, entry.filePath);
+                if (targetFile.equals(resolved) && !processor.process(new Link(sourceFile, entry))) {
+                    return false;
+                }
+            }
+            return true;
+        }, scope);
+    }
+
+    /**
+     * 是否有链接指向目标文件，找到第一个就停止
+     */
+    public static boolean hasLinksTo(@NotNull Project project, @NotNull VirtualFile targetFile,
+                                     @NotNull GlobalSearchScope scope) {
+        return !processLinksTo(project, targetFile, scope, link -> false);
+    }
+
+    /**
+     * 索引依赖标签配置，配置变化后需要重建（包括共用扫描结果的 DocLinkTargetIndex）
+     */
+    public static void requestRebuild() {
+        FileBasedIndex.getInstance().requestRebuild(NAME);
+        FileBasedIndex.getInstance().requestRebuild(DocLinkTargetIndex.NAME);
+    }
+}
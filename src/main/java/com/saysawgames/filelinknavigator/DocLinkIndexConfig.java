@@ -0,0 +1,144 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.ide.util.PropertiesComponent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.startup.StartupActivity;
+import com.saysawgames.filelinknavigator.settings.ProjectSettingsState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 链接索引使用的配置（应用级）：应用级、各项目级和模块级设置中的标签、分隔符、前缀的并集
+ * <p>
+ * 索引数据在项目之间共享，不能按模块解析，因此用所有设置的并集解析，
+ * 查询时再按源文件所在模块生效的配置过滤（见 DocLinkIndex.processLinksTo），
+ * 只在项目或模块中配置的标签（如 @design、@spec）也会进入索引
+ * <p>
+ * 并集持久化保存，只在出现新的标签、分隔符或前缀时扩大并重建索引；关闭项目或删除设置不会缩小，
+ * 多出来的链接在查询时被过滤掉，不影响结果；只有应用级设置变化时按当前设置重新计算。
+ * 这样两次重建之间索引结果只取决于文件内容
+ */
+public final class DocLinkIndexConfig {
+
+    private static final String PROPERTY_KEY = "com.saysawgames.filelinknavigator.DocLinkIndexConfig.syntax";
+
+    private static volatile DocLinkConfig config;
+
+    private DocLinkIndexConfig() {
+    }
+
+    /**
+     * 打开项目后把项目级、模块级设置并入索引配置
+     */
+    public static final class Activity implements StartupActivity.DumbAware {
+        @Override
+        public void runActivity(@NotNull Project project) {
+            update(project, false);
+        }
+    }
+
+    /**
+     * 索引使用的配置，第一次调用时读取保存的并集，没有时按当前设置计算
+     */
+    public static @NotNull DocLinkConfig getConfig() {
+        DocLinkConfig current = config;
+        return current != null ? current : loadConfig();
+    }
+
+    private static synchronized DocLinkConfig loadConfig() {
+        if (config == null) {
+            String syntax = PropertiesComponent.getInstance().getValue(PROPERTY_KEY);
+            if (syntax == null) {
+                syntax = collect(null, null);
+                PropertiesComponent.getInstance().setValue(PROPERTY_KEY, syntax);
+            }
+            config = compile(syntax);
+        }
+        return config;
+    }
+
+    /**
+     * 设置变化后调用，并集变化时重建链接索引
+     *
+     * @param project 刚打开或修改了设置的项目，可能还不在已打开项目的列表中
+     * @param reset   true：应用级设置变化，按当前设置重新计算；false：只在保存的并集上扩大
+     */
+    public static synchronized void update(@Nullable Project project, boolean reset) {
+        String old = PropertiesComponent.getInstance().getValue(PROPERTY_KEY);
+        String syntax = collect(project, reset ? null : old);
+        if (syntax.equals(old)) {
+            return;
+        }
+        PropertiesComponent.getInstance().setValue(PROPERTY_KEY, syntax);
+        config = compile(syntax);
+        DocLinkIndex.requestRebuild();
+    }
+
+    /**
+     * 收集应用级和各项目的设置，结果为 "标签\n分隔符\n前缀"，各部分用,分隔
+     */
+    private static String collect(@Nullable Project extraProject, @Nullable String base) {
+        Set<String> tags = new LinkedHashSet<>();
+        Set<String> separators = new LinkedHashSet<>();
+        Set<String> prefixes = new LinkedHashSet<>();
+        if (base != null) {
+            String[] parts = base.split("\n", -1);
+            addAll(tags, parts.length > 0 ? parts[0] : null);
+            addAll(separators, parts.length > 1 ? parts[1] : null);
+            addAll(prefixes, parts.length > 2 ? parts[2] : null);
+        }
+
+        DocLinkConfig application = DocLinkConfigService.getApplicationConfig();
+        Collections.addAll(tags, application.getTags());
+        for (char c : application.getSeparators()) {
+            separators.add(String.valueOf(c));
+        }
+        for (char c : application.getLinePrefixes()) {
+            prefixes.add(String.valueOf(c));
+        }
+
+        Set<Project> projects = new LinkedHashSet<>();
+        Collections.addAll(projects, ProjectManager.getInstance().getOpenProjects());
+        if (extraProject != null) {
+            projects.add(extraProject);
+        }
+        for (Project project : projects) {
+            if (project.isDefault() || project.isDisposed()) {
+                continue;
+            }
+            ProjectSettingsState state = ProjectSettingsState.getInstance(project);
+            addAll(tags, state.tagNames);
+            addAll(separators, state.separators);
+            addAll(prefixes, state.linePrefixes);
+            for (ProjectSettingsState.ModuleSettings module : state.modules) {
+                addAll(tags, module.tagNames);
+                addAll(separators, module.separators);
+                addAll(prefixes, module.linePrefixes);
+            }
+        }
+        return String.join(",", tags) + '\n' + String.join(",", separators) + '\n' + String.join(",", prefixes);
+    }
+
+    private static void addAll(Set<String> set, @Nullable String value) {
+        if (value == null) {
+            return;
+        }
+        for (String part : value.split(",")) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                set.add(trimmed);
+            }
+        }
+    }
+
+    private static DocLinkConfig compile(String syntax) {
+        String[] parts = syntax.split("\n", -1);
+        return Constant.compile(parts[0], parts.length > 1 ? parts[1] : "", parts.length > 2 ? parts[2] : "",
+            Constant.nextVersion());
+    }
+}
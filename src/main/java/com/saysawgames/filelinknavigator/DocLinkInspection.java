@@ -0,0 +1,152 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 失效链接检查：找不到的文件、超出范围的行号、不存在的标题锚点、内容已找不到的指纹行
+ * <p>
+ * 编辑器中随高亮运行；“Inspect Code” 批量检查时由平台并行分发到各个文件，
+ * 路径解析（DocLinkResolver）、行数（LineCountCache）、大纲（MarkdownOutlineCache）都有缓存，
+ * 同一个目标文件无论被多少链接引用都只检查一次
+ * <p>
+ * 每个注释的链接路径通过 resolveAll 批量解析，结果在整个文件范围内记录，同一个路径在一个文件中只解析一次
+ */
+public class DocLinkInspection extends LocalInspectionTool {
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Cannot resolve file '%s'",
+        "Line %d is out of range, '%s' has %d lines",
+        "Cannot find heading '#%s' in '%s'",
+        "Line %d of '%s' has changed and its content '~%s' cannot be found",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "找不到文件 '%s'",
+        "行号 %d 超出范围，'%s' 只有 %d 行",
+        "在 '%2$s' 中找不到标题 '#%1$s'",
+        "'%2$s' 的第 %1$d 行已修改，找不到内容 '~%3$s'",
+    };*/
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        PsiFile file = holder.getFile();
+        VirtualFile sourceFile = file.getOriginalFile().getVirtualFile();
+        if (sourceFile == null) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+
+        Project project = holder.getProject();
+        DocLinkResolver resolver = DocLinkResolver.getInstance(project);
+        PsiManager psiManager = PsiManager.getInstance(project);
+        // 本文件中已解析过的路径 → 目标文件（找不到时为 null）
+        Map<String, VirtualFile> resolved = new HashMap<>();
+
+        return new PsiElementVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                // PsiDocComment 也继承自 PsiComment
+                if (element instanceof PsiComment) {
+                    checkComment((PsiComment) element, sourceFile, resolver, resolved, psiManager, holder);
+                }
+            }
+        };
+    }
+
+    private static void checkComment(PsiComment comment, VirtualFile sourceFile, DocLinkResolver resolver,
+                                     Map<String, VirtualFile> resolved, PsiManager psiManager, ProblemsHolder holder) {
+        List<DocLinkParser.DocLinkMatch> matches = DocLinkMatchCache.getMatches(comment);
+        if (matches.isEmpty()) {
+            return;
+        }
+        // 只把本文件中还没解析过的路径交给解析服务
+        List<String> unresolved = new ArrayList<>();
+        for (DocLinkParser.DocLinkMatch match : matches) {
+            String filePath = Utils.formatPath(match.filePath);
+            if (!resolved.containsKey(filePath)) {
+                unresolved.add(filePath);
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            resolved.putAll(resolver.resolveAll(sourceFile, unresolved));
+        }
+
+        for (DocLinkParser.DocLinkMatch match : matches) {
+            String filePath = Utils.formatPath(match.filePath);
+            TextRange range = new TextRange(match.start, match.end);
+
+            VirtualFile targetFile = resolved.get(filePath);
+            if (targetFile == null) {
+                holder.registerProblem(comment, range, getUnresolvedMessage(filePath), ProblemHighlightType.LIKE_UNKNOWN_SYMBOL);
+                continue;
+            }
+            String problem = checkTarget(psiManager, targetFile, filePath, match);
+            if (problem != null) {
+                // 指纹行找不到时链接仍能按原行号跳转，只作弱警告
+                holder.registerProblem(comment, range, problem, match.fingerprint != null && match.anchor == null
+                    && !LargeFileNavigator.isLargeFile(targetFile) ? ProblemHighlightType.WEAK_WARNING : ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
+            }
+        }
+    }
+
+    static String getUnresolvedMessage(String filePath) {
+        return String.format(SELECT_NAME[0], filePath);
+    }
+
+    /**
+     * 检查已解析到的目标文件中的标题锚点、指纹或行号
+     * 编辑器中的检查与保存时的后台检查（DocLinkSaveValidator）共用
+     *
+     * @return 问题描述，没有问题时返回 null
+     */
+    static @Nullable String checkTarget(PsiManager psiManager, VirtualFile targetFile, String filePath,
+                                        DocLinkParser.DocLinkMatch match) {
+        if (targetFile.isDirectory()) {
+            return null;
+        }
+
+        // 有锚点时检查标题是否存在，大文件不建立大纲，不检查锚点
+        if (match.anchor != null) {
+            if (LargeFileNavigator.isLargeFile(targetFile)) {
+                return null;
+            }
+            PsiFile targetPsiFile = psiManager.findFile(targetFile);
+            if (targetPsiFile != null && MarkdownOutlineCache.getOutline(targetPsiFile).findLine(match.anchor) < 0) {
+                return String.format(SELECT_NAME[2], match.anchor, filePath);
+            }
+            return null;
+        }
+
+        // 有指纹时检查这一行的内容是否还能找到，找到时链接会跳到新位置，不再检查行号范围
+        if (match.fingerprint != null && !LargeFileNavigator.isLargeFile(targetFile)) {
+            if (LineFingerprintCache.locate(targetFile, match.line, match.fingerprint) < 0) {
+                return String.format(SELECT_NAME[3], match.line, filePath, match.fingerprint);
+            }
+            return null;
+        }
+
+        // 有行号时检查是否超出文件行数
+        if (match.lineNumber != null) {
+            int lineCount = LineCountCache.getLineCount(targetFile);
+            if (lineCount > 0 && (match.line < 1 || match.line > lineCount)) {
+                return String.format(SELECT_NAME[1], match.line, filePath, lineCount);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,183 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.codeInsight.daemon.LineMarkerInfo;
+import com.intellij.codeInsight.daemon.LineMarkerProviderDescriptor;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.markup.GutterIconRenderer;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.ui.awt.RelativePoint;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 行标记：含有链接的注释在行号旁显示图标，点击后列出该注释中的所有链接目标
+ * <p>
+ * 只在慢速行标记阶段计算，不影响首次绘制；匹配结果直接取 DocLinkMatchCache，不重新解析，
+ * 路径也不在这里解析，等到点击图标时才在后台批量解析，再弹出列表
+ * <p>
+ * 可在 Settings → Editor → General → Gutter Icons 中关闭
+ */
+public class DocLinkLineMarkerProvider extends LineMarkerProviderDescriptor {
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Doc links",
+        "Doc links in this comment",
+        " (not found)",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "文档链接",
+        "此注释中的文档链接",
+        "（找不到文件）",
+    };*/
+
+    private static final Icon ICON = AllIcons.Nodes.Related;
+
+    /**
+     * 弹出列表中的一项
+     */
+    private static class TargetItem {
+        final DocLinkParser.DocLinkMatch match;
+        final String text;
+
+        TargetItem(DocLinkParser.DocLinkMatch match, String text) {
+            this.match = match;
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return SELECT_NAME[0];
+    }
+
+    @Override
+    public @NotNull Icon getIcon() {
+        return ICON;
+    }
+
+    @Override
+    public @Nullable LineMarkerInfo<?> getLineMarkerInfo(@NotNull PsiElement element) {
+        // 快速阶段不计算，全部在 collectSlowLineMarkers 中处理
+        return null;
+    }
+
+    @Override
+    public void collectSlowLineMarkers(@NotNull List<? extends PsiElement> elements,
+                                       @NotNull Collection<? super LineMarkerInfo<?>> result) {
+        for (PsiElement element : elements) {
+            if (!(element instanceof PsiComment)) {
+                continue;
+            }
+            PsiComment comment = (PsiComment) element;
+            List<DocLinkParser.DocLinkMatch> matches = DocLinkMatchCache.getMatches(comment);
+            if (matches.isEmpty()) {
+                continue;
+            }
+            // 行标记必须放在叶子元素上（Javadoc 注释是复合元素）
+            PsiElement leaf = PsiTreeUtil.getDeepestFirst(comment);
+            result.add(new LineMarkerInfo<>(
+                leaf,
+                leaf.getTextRange(),
+                ICON,
+                DocLinkLineMarkerProvider::getTooltip,
+                DocLinkLineMarkerProvider::showTargets,
+                GutterIconRenderer.Alignment.LEFT,
+                () -> SELECT_NAME[0]
+            ));
+        }
+    }
+
+    /**
+     * 提示文本，只列出链接文本，不解析路径
+     */
+    private static @Nullable String getTooltip(PsiElement leaf) {
+        PsiComment comment = PsiTreeUtil.getParentOfType(leaf, PsiComment.class, false);
+        if (comment == null) {
+            return null;
+        }
+        StringBuilder tooltip = new StringBuilder(SELECT_NAME[1]);
+        for (DocLinkParser.DocLinkMatch match : DocLinkMatchCache.getMatches(comment)) {
+            tooltip.append("<br>").append(StringUtil.escapeXmlEntities(getLinkText(match)));
+        }
+        return "<html>" + tooltip + "</html>";
+    }
+
+    /**
+     * 点击图标时才在后台读操作中批量解析路径，完成后在 EDT 上弹出列表，选中后跳转
+     * 路径解析可能查询 FilenameIndex 和文档根目录，不在 EDT 上进行
+     */
+    private static void showTargets(MouseEvent event, PsiElement leaf) {
+        PsiFile file = leaf.getContainingFile();
+        VirtualFile sourceFile = file == null ? null : file.getOriginalFile().getVirtualFile();
+        if (sourceFile == null) {
+            return;
+        }
+        Project project = leaf.getProject();
+        RelativePoint point = new RelativePoint(event);
+        ReadAction.nonBlocking(() -> collectItems(project, sourceFile, leaf))
+            .expireWhen(() -> project.isDisposed() || !leaf.isValid())
+            .finishOnUiThread(ModalityState.defaultModalityState(), items -> {
+                if (items.isEmpty()) {
+                    return;
+                }
+                JBPopupFactory.getInstance()
+                    .createPopupChooserBuilder(items)
+                    .setTitle(SELECT_NAME[1])
+                    .setItemChosenCallback(item -> new NavigateToDocIntentionAction(item.match.filePath, item.match.line,
+                        item.match.anchor, item.match.fingerprint).invoke(project, null, file))
+                    .createPopup()
+                    .show(point);
+            })
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * 取出注释中的链接（解析结果缓存）并批量解析路径（后台读操作）
+     */
+    private static List<TargetItem> collectItems(Project project, VirtualFile sourceFile, PsiElement leaf) {
+        PsiComment comment = PsiTreeUtil.getParentOfType(leaf, PsiComment.class, false);
+        if (comment == null) {
+            return Collections.emptyList();
+        }
+        List<DocLinkParser.DocLinkMatch> matches = DocLinkMatchCache.getMatches(comment);
+        Map<String, VirtualFile> resolved = DocLinkResolver.getInstance(project).resolveMatches(sourceFile, matches);
+
+        List<TargetItem> items = new ArrayList<>(matches.size());
+        for (DocLinkParser.DocLinkMatch match : matches) {
+            VirtualFile targetFile = resolved.get(Utils.formatPath(match.filePath));
+            items.add(new TargetItem(match, getLinkText(match) + (targetFile == null ? SELECT_NAME[2] : "")));
+        }
+        return items;
+    }
+
+    private static String getLinkText(DocLinkParser.DocLinkMatch match) {
+        String filePath = Utils.formatPath(match.filePath);
+        if (match.anchor != null) {
+            return filePath + "#" + match.anchor;
+        }
+        return match.lineNumber != null ? filePath + ":" + match.line : filePath;
+    }
+}
@@ -0,0 +1,269 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectLocator;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.saysawgames.filelinknavigator.settings.SettingsState;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 目标文档增删行后，自动调整指向它的链接中的行号（项目级）
+ * <p>
+ * 文档监听器只记录编辑器中行数发生变化的编辑（普通输入直接返回，整个文本被替换时跳过），编辑停止 DELAY_MILLIS 后统一处理：
+ * 在后台读操作中通过 DocLinkIndex 找出指向这些文档的链接并计算新行号，
+ * 再在 EDT 上用同一个写命令替换所有行号，可以一次撤销
+ * <p>
+ * 同一时间只有一批更新在进行，之后的编辑等这一批写入后再处理，避免按过期的行号计算
+ */
+public final class DocLinkLineShifter implements Disposable {
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Shift Doc Link Line Numbers",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "调整文档链接行号",
+    };*/
+
+    // 编辑停止多久后更新链接
+    private static final int DELAY_MILLIS = 1000;
+
+    private final Project project;
+    private final Alarm alarm;
+    // 目标文件 → 尚未处理的编辑（按发生顺序），只在 EDT 上访问
+    private Map<VirtualFile, List<LineEdit>> pending = new LinkedHashMap<>();
+    private boolean updating;
+
+    public DocLinkLineShifter(Project project) {
+        this.project = project;
+        this.alarm = new Alarm(this);
+    }
+
+    public static DocLinkLineShifter getInstance(@NotNull Project project) {
+        return project.getService(DocLinkLineShifter.class);
+    }
+
+    /**
+     * 一次改变了行数的编辑
+     */
+    static final class LineEdit {
+        final int line;             // 编辑起始行（从 0 开始）
+        final boolean lineStart;    // 是否在行首纯插入，此时起始行本身也会下移
+        final int removed;          // 删除的换行数
+        final int added;            // 插入的换行数
+
+        LineEdit(int line, boolean lineStart, int removed, int added) {
+            this.line = line;
+            this.lineStart = lineStart;
+            this.removed = removed;
+            this.added = added;
+        }
+
+        /**
+         * 编辑前的行号换算为编辑后的行号（从 1 开始）
+         * 被删除的行落到替换内容的最后一行
+         */
+        int map(int lineNumber) {
+            int line = lineNumber - 1;
+            if (line < this.line || line == this.line && !lineStart) {
+                return lineNumber;
+            }
+            if (line == this.line) {
+                return lineNumber + added;
+            }
+            if (line <= this.line + removed) {
+                return Math.min(line, this.line + added) + 1;
+            }
+            return lineNumber + added - removed;
+        }
+    }
+
+    /**
+     * 待写入的一个行号修改
+     */
+    private static final class LinkUpdate {
+        final VirtualFile sourceFile;
+        final int start;
+        final int end;
+        final int oldLine;
+        final int newLine;
+
+        LinkUpdate(VirtualFile sourceFile, int start, int end, int oldLine, int newLine) {
+            this.sourceFile = sourceFile;
+            this.start = start;
+            this.end = end;
+            this.oldLine = oldLine;
+            this.newLine = newLine;
+        }
+    }
+
+    /**
+     * 所有文档的编辑都经过这里，只处理行数变化的编辑，普通输入不做任何查找
+     */
+    public static final class Listener implements DocumentListener {
+        @Override
+        public void documentChanged(@NotNull DocumentEvent event) {
+            int removed = StringUtil.countNewLines(event.getOldFragment());
+            int added = StringUtil.countNewLines(event.getNewFragment());
+            if (removed == added) {
+                return;
+            }
+            SettingsState settings = SettingsState.getInstance();
+            if (settings != null && !settings.shiftLineNumbers) {
+                return;
+            }
+            // 整个文本被替换（从磁盘重新加载、VCS 更新、外部工具改写）时无法知道行的对应关系，不调整
+            Document document = event.getDocument();
+            if (event.isWholeTextReplaced() || isWholeText(event, document)) {
+                return;
+            }
+            VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+            if (file == null || !file.isInLocalFileSystem()) {
+                return;
+            }
+            // 只处理在编辑器中打开的文档上的编辑
+            Project project = ProjectLocator.getInstance().guessProjectForFile(file);
+            if (project == null || project.isDisposed() || !FileEditorManager.getInstance(project).isFileOpen(file)) {
+                return;
+            }
+
+            int offset = event.getOffset();
+            int line = document.getLineNumber(offset);
+            boolean lineStart = offset == document.getLineStartOffset(line) && event.getOldLength() == 0;
+            LineEdit edit = new LineEdit(line, lineStart, removed, added);
+            if (ApplicationManager.getApplication().isDispatchThread()) {
+                getInstance(project).lineCountChanged(file, edit);
+            } else {
+                ApplicationManager.getApplication().invokeLater(() -> getInstance(project).lineCountChanged(file, edit),
+                    project.getDisposed());
+            }
+        }
+    }
+
+    /**
+     * 编辑是否覆盖了编辑前的整个文本
+     */
+    private static boolean isWholeText(DocumentEvent event, Document document) {
+        int oldTextLength = document.getTextLength() - event.getNewLength() + event.getOldLength();
+        return event.getOffset() == 0 && event.getOldLength() == oldTextLength && oldTextLength > 0;
+    }
+
+    private void lineCountChanged(VirtualFile file, LineEdit edit) {
+        pending.computeIfAbsent(file, key -> new ArrayList<>()).add(edit);
+        alarm.cancelAllRequests();
+        alarm.addRequest(this::flush, DELAY_MILLIS);
+    }
+
+    private void flush() {
+        if (pending.isEmpty() || updating || project.isDisposed()) {
+            return;
+        }
+        Map<VirtualFile, List<LineEdit>> edits = pending;
+        pending = new LinkedHashMap<>();
+        updating = true;
+        ReadAction.nonBlocking(() -> collectUpdates(edits))
+            .inSmartMode(project)
+            .expireWith(this)
+            .finishOnUiThread(ModalityState.defaultModalityState(), updates -> {
+                updating = false;
+                applyUpdates(updates);
+                if (!pending.isEmpty()) {
+                    alarm.addRequest(this::flush, DELAY_MILLIS);
+                }
+            })
+            .submit(AppExecutorUtil.getAppExecutorService())
+            .onError(e -> ApplicationManager.getApplication().invokeLater(() -> updating = false));
+    }
+
+    /**
+     * 通过索引找出指向被编辑文档的行号链接，计算新行号（后台读操作）
+     */
+    private List<LinkUpdate> collectUpdates(Map<VirtualFile, List<LineEdit>> edits) {
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        List<LinkUpdate> updates = new ArrayList<>();
+        for (Map.Entry<VirtualFile, List<LineEdit>> entry : edits.entrySet()) {
+            VirtualFile target = entry.getKey();
+            if (!target.isValid()) {
+                continue;
+            }
+            List<LineEdit> fileEdits = entry.getValue();
+            DocLinkIndex.processLinksTo(project, target, scope, link -> {
+                if (link.entry.anchor != null || link.entry.lineNumber <= 0) {
+                    return true;
+                }
+                int newLine = link.entry.lineNumber;
+                for (LineEdit edit : fileEdits) {
+                    newLine = edit.map(newLine);
+                }
+                if (newLine != link.entry.lineNumber) {
+                    updates.add(new LinkUpdate(link.sourceFile, link.entry.start, link.entry.end, link.entry.lineNumber, newLine));
+                }
+                return true;
+            });
+        }
+        return updates;
+    }
+
+    /**
+     * 在同一个写命令中替换所有行号
+     * 写入前重新解析链接，确认行号仍是计算时的值（源文件在此期间可能被修改）
+     */
+    private void applyUpdates(List<LinkUpdate> updates) {
+        if (updates.isEmpty() || project.isDisposed()) {
+            return;
+        }
+        // 同一文档中从后往前替换，行号位数变化不影响前面的偏移
+        updates.sort(Comparator.comparingInt((LinkUpdate update) -> update.start).reversed());
+        WriteCommandAction.writeCommandAction(project).withName(SELECT_NAME[0]).run(() -> {
+            DocLinkMatchBuffer buffer = new DocLinkMatchBuffer();
+            FileDocumentManager fileDocumentManager = FileDocumentManager.getInstance();
+            Set<Document> changed = new HashSet<>();
+            for (LinkUpdate update : updates) {
+                Document document = update.sourceFile.isValid() ? fileDocumentManager.getDocument(update.sourceFile) : null;
+                if (document == null || !document.isWritable() || update.end > document.getTextLength()) {
+                    continue;
+                }
+                CharSequence text = document.getCharsSequence().subSequence(update.start, update.end);
+                DocLinkConfig config = DocLinkConfigService.getConfig(project, update.sourceFile);
+                if (DocLinkParser.parseDocLinks(text, buffer, config) == 0 || buffer.getStart(0) != 0
+                    || !buffer.hasLineNumber(0) || buffer.getLineNumber(0) != update.oldLine) {
+                    continue;
+                }
+                document.replaceString(update.start + buffer.getLineNumberStart(0), update.start + buffer.getLineNumberEnd(0),
+                    String.valueOf(update.newLine));
+                changed.add(document);
+            }
+            PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(project);
+            for (Document document : changed) {
+                psiDocumentManager.commitDocument(document);
+            }
+        });
+    }
+
+    @Override
+    public void dispose() {
+        pending.clear();
+    }
+}
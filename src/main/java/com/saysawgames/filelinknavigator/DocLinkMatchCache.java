@@ -0,0 +1,109 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 注释解析结果缓存
+ * 每个注释只解析一次，结果作为 CachedValue 挂在 PsiComment 上，PSI 修改或配置变化后失效
+ * 引用贡献者、失效链接检查等读取同一份不可变的匹配列表
+ */
+public class DocLinkMatchCache {
+
+    private static final Key<CachedValue<Parsed>> MATCHES_KEY = Key.create("DocLink.Matches");
+
+    // 应用级、项目级或模块级配置（标签、分隔符、前缀）变化时让缓存失效
+    private static final ModificationTracker SETTINGS_TRACKER = Constant::getModificationCount;
+
+    // 解析用的线程内缓冲区，没有链接的注释不会创建任何字符串
+    private static final ThreadLocal<DocLinkMatchBuffer> BUFFER = ThreadLocal.withInitial(DocLinkMatchBuffer::new);
+
+    /**
+     * 解析结果及解析时使用的配置版本
+     */
+    private static final class Parsed {
+        final long version;
+        final List<DocLinkParser.DocLinkMatch> matches;
+
+        Parsed(long version, List<DocLinkParser.DocLinkMatch> matches) {
+            this.version = version;
+            this.matches = matches;
+        }
+    }
+
+    /**
+     * 获取注释中的所有链接，偏移相对于注释起始位置
+     */
+    public static @NotNull List<DocLinkParser.DocLinkMatch> getMatches(@NotNull PsiComment comment) {
+        // 注释所在模块生效的配置
+        DocLinkConfig config = DocLinkConfigService.getConfig(comment);
+        DocLinkMetrics.MATCH_CACHE.request();
+        Parsed parsed = CachedValuesManager.getCachedValue(comment, MATCHES_KEY, () -> {
+            DocLinkMetrics.MATCH_CACHE.miss();
+            return CachedValueProvider.Result.create(parse(comment, DocLinkConfigService.getConfig(comment)), comment, SETTINGS_TRACKER);
+        });
+        // 解析过程中配置恰好被替换时，缓存可能记录了新版本号却保存着旧结果，此时按当前配置重新解析
+        return parsed.version == config.getVersion() ? parsed.matches : parse(comment, config).matches;
+    }
+
+    private static Parsed parse(PsiComment comment, DocLinkConfig config) {
+        CharSequence text = comment.getNode().getChars();
+        DocLinkMatchBuffer buffer = BUFFER.get();
+        int count = DocLinkParser.parseDocLinks(text, buffer, config);
+        if (count == 0) {
+            return new Parsed(config.getVersion(), Collections.emptyList());
+        }
+        List<DocLinkParser.DocLinkMatch> matches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            matches.add(buffer.toMatch(i, text));
+        }
+        return new Parsed(config.getVersion(), Collections.unmodifiableList(matches));
+    }
+
+    /**
+     * 获取元素范围内的链接，偏移相对于元素起始位置
+     * 元素可以是注释本身，也可以是注释中的一部分（如 PsiDocToken、PsiDocTag），
+     * 后者复用所在注释的解析结果，不再单独解析
+     */
+    public static @NotNull List<DocLinkParser.DocLinkMatch> getMatchesIn(@NotNull PsiElement element) {
+        PsiComment comment = PsiTreeUtil.getParentOfType(element, PsiComment.class, false);
+        if (comment == null) {
+            return Collections.emptyList();
+        }
+
+        List<DocLinkParser.DocLinkMatch> matches = getMatches(comment);
+        if (comment == element || matches.isEmpty()) {
+            return matches;
+        }
+
+        int shift = element.getTextRange().getStartOffset() - comment.getTextRange().getStartOffset();
+        int end = shift + element.getTextLength();
+        List<DocLinkParser.DocLinkMatch> result = new ArrayList<>();
+        for (DocLinkParser.DocLinkMatch match : matches) {
+            if (match.start >= shift && match.end <= end) {
+                result.add(new DocLinkParser.DocLinkMatch(
+                    match.tagName,
+                    match.filePath,
+                    match.lineNumber,
+                    match.line,
+                    match.anchor,
+                    match.fingerprint,
+                    match.start - shift,
+                    match.end - shift
+                ));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,274 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.CollectionListModel;
+import com.intellij.ui.ColoredListCellRenderer;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.OnePixelSplitter;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.components.JBList;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.table.JBTable;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * “File Link Navigator” 工具窗口
+ * Broken Links 标签页列出 DocLinkSaveValidator 保存时检查出的失效链接，按文件增量更新，双击跳转
+ * Metrics 标签页显示 DocLinkMetrics 的耗时分布与缓存命中率，窗口可见时每秒刷新一次，可以清零或导出为 JSON
+ */
+public class DocLinkMetricsToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Metrics",
+        "Operation", "Count", "Mean (µs)", "p50 (µs)", "p90 (µs)", "p99 (µs)", "Max (µs)",
+        "Cache", "Requests", "Misses", "Hit rate",
+        "Reset", "Export as JSON", "Export Doc Link Metrics", "Save the metrics as a JSON file",
+        "Cannot write metrics: ",
+        "Broken Links", "No broken links found in saved files",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "指标",
+        "操作", "次数", "平均 (µs)", "p50 (µs)", "p90 (µs)", "p99 (µs)", "最大 (µs)",
+        "缓存", "查询次数", "未命中", "命中率",
+        "清零", "导出为 JSON", "导出文档链接指标", "将指标保存为 JSON 文件",
+        "无法写入指标：",
+        "失效链接", "已保存的文件中没有失效链接",
+    };*/
+
+    private static final int REFRESH_MILLIS = 1000;
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        BrokenLinksPanel brokenLinks = new BrokenLinksPanel(project);
+        Content brokenLinksContent = ContentFactory.getInstance().createContent(brokenLinks, SELECT_NAME[17], false);
+        brokenLinksContent.setDisposer(brokenLinks);
+        toolWindow.getContentManager().addContent(brokenLinksContent);
+
+        MetricsPanel panel = new MetricsPanel(project);
+        Content content = ContentFactory.getInstance().createContent(panel, SELECT_NAME[0], false);
+        content.setDisposer(panel);
+        toolWindow.getContentManager().addContent(content);
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+
+    /**
+     * 失效链接列表，只替换检查结果发生变化的源文件对应的行
+     */
+    private static class BrokenLinksPanel extends JPanel implements Disposable {
+        private final Project project;
+        private final CollectionListModel<DocLinkSaveValidator.Problem> model = new CollectionListModel<>();
+        private final JBList<DocLinkSaveValidator.Problem> list = new JBList<>(model);
+
+        BrokenLinksPanel(Project project) {
+            super(new BorderLayout());
+            this.project = project;
+
+            list.getEmptyText().setText(SELECT_NAME[18]);
+            list.setCellRenderer(new ColoredListCellRenderer<>() {
+                @Override
+                protected void customizeCellRenderer(@NotNull JList<? extends DocLinkSaveValidator.Problem> list,
+                                                     DocLinkSaveValidator.Problem problem, int index,
+                                                     boolean selected, boolean hasFocus) {
+                    setIcon(problem.targetFile == null ? AllIcons.General.Error : AllIcons.General.Warning);
+                    append(problem.sourceFile.getName() + ":" + problem.line + "  ");
+                    append(problem.message);
+                    append("  " + problem.link, SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                }
+            });
+            new DoubleClickListener() {
+                @Override
+                protected boolean onDoubleClick(@NotNull MouseEvent event) {
+                    return navigate();
+                }
+            }.installOn(list);
+            list.addKeyListener(new KeyAdapter() {
+                @Override
+                public void keyPressed(KeyEvent e) {
+                    if (e.getKeyCode() == KeyEvent.VK_ENTER && navigate()) {
+                        e.consume();
+                    }
+                }
+            });
+            add(ScrollPaneFactory.createScrollPane(list), BorderLayout.CENTER);
+
+            DocLinkSaveValidator validator = DocLinkSaveValidator.getInstance(project);
+            for (List<DocLinkSaveValidator.Problem> problems : validator.getProblems().values()) {
+                for (DocLinkSaveValidator.Problem problem : problems) {
+                    model.add(findInsertIndex(problem.sourceFile), problem);
+                }
+            }
+            project.getMessageBus().connect(this).subscribe(DocLinkSaveValidator.ProblemsListener.TOPIC,
+                (DocLinkSaveValidator.ProblemsListener) this::update);
+        }
+
+        private void update(VirtualFile sourceFile) {
+            for (int i = model.getSize() - 1; i >= 0; i--) {
+                if (model.getElementAt(i).sourceFile.equals(sourceFile)) {
+                    model.remove(i);
+                }
+            }
+            List<DocLinkSaveValidator.Problem> problems = DocLinkSaveValidator.getInstance(project).getProblems(sourceFile);
+            if (!problems.isEmpty()) {
+                model.addAll(findInsertIndex(sourceFile), problems);
+            }
+        }
+
+        /**
+         * 按源文件路径排序，同一文件的链接保持偏移顺序
+         */
+        private int findInsertIndex(VirtualFile sourceFile) {
+            String path = sourceFile.getPath();
+            for (int i = 0; i < model.getSize(); i++) {
+                if (model.getElementAt(i).sourceFile.getPath().compareTo(path) > 0) {
+                    return i;
+                }
+            }
+            return model.getSize();
+        }
+
+        private boolean navigate() {
+            DocLinkSaveValidator.Problem problem = list.getSelectedValue();
+            if (problem == null || !problem.sourceFile.isValid()) {
+                return false;
+            }
+            new OpenFileDescriptor(project, problem.sourceFile, problem.start).navigate(true);
+            return true;
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+
+    private static class MetricsPanel extends JPanel implements Disposable {
+        private final Project project;
+        private final DefaultTableModel timerModel = new DefaultTableModel(new Object[]{
+            SELECT_NAME[1], SELECT_NAME[2], SELECT_NAME[3], SELECT_NAME[4], SELECT_NAME[5], SELECT_NAME[6], SELECT_NAME[7],
+        }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        private final DefaultTableModel cacheModel = new DefaultTableModel(new Object[]{
+            SELECT_NAME[8], SELECT_NAME[9], SELECT_NAME[10], SELECT_NAME[11],
+        }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        private final Timer timer = new Timer(REFRESH_MILLIS, e -> refresh());
+
+        MetricsPanel(Project project) {
+            super(new BorderLayout());
+            this.project = project;
+
+            OnePixelSplitter splitter = new OnePixelSplitter(true, 0.6f);
+            splitter.setFirstComponent(ScrollPaneFactory.createScrollPane(new JBTable(timerModel)));
+            splitter.setSecondComponent(ScrollPaneFactory.createScrollPane(new JBTable(cacheModel)));
+            add(splitter, BorderLayout.CENTER);
+
+            DefaultActionGroup group = new DefaultActionGroup();
+            group.add(new DumbAwareAction(SELECT_NAME[12], null, AllIcons.Actions.GC) {
+                @Override
+                public void actionPerformed(@NotNull AnActionEvent e) {
+                    DocLinkMetrics.reset();
+                    refresh();
+                }
+            });
+            group.add(new DumbAwareAction(SELECT_NAME[13], null, AllIcons.ToolbarDecorator.Export) {
+                @Override
+                public void actionPerformed(@NotNull AnActionEvent e) {
+                    export();
+                }
+            });
+            ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("DocLinkMetrics", group, false);
+            toolbar.setTargetComponent(this);
+            add(toolbar.getComponent(), BorderLayout.WEST);
+
+            refresh();
+            timer.start();
+        }
+
+        private void refresh() {
+            if (!isShowing() && timerModel.getRowCount() > 0) {
+                return;
+            }
+            timerModel.setRowCount(0);
+            for (DocLinkMetrics.Timer metric : DocLinkMetrics.getTimers()) {
+                timerModel.addRow(new Object[]{
+                    metric.getName(),
+                    metric.getCount(),
+                    micros(metric.getMeanNanos()),
+                    micros(metric.getPercentileNanos(50)),
+                    micros(metric.getPercentileNanos(90)),
+                    micros(metric.getPercentileNanos(99)),
+                    micros(metric.getMaxNanos()),
+                });
+            }
+            cacheModel.setRowCount(0);
+            for (DocLinkMetrics.CacheCounter cache : DocLinkMetrics.getCaches()) {
+                cacheModel.addRow(new Object[]{
+                    cache.getName(),
+                    cache.getRequests(),
+                    cache.getMisses(),
+                    String.format(Locale.ROOT, "%.1f%%", cache.getHitRate() * 100),
+                });
+            }
+        }
+
+        private void export() {
+            FileSaverDescriptor descriptor = new FileSaverDescriptor(SELECT_NAME[14], SELECT_NAME[15], "json");
+            VirtualFileWrapper wrapper = FileChooserFactory.getInstance()
+                .createSaveFileDialog(descriptor, project)
+                .save("doc-link-metrics.json");
+            if (wrapper == null) {
+                return;
+            }
+            try {
+                Files.writeString(wrapper.getFile().toPath(), DocLinkMetrics.toJson(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                Messages.showErrorDialog(project, SELECT_NAME[16] + e.getMessage(), SELECT_NAME[14]);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * “Go to Doc Link” 列表中的一项：一个链接在源文件中的位置
+ * 显示为链接目标，位置信息为源文件名和行号，选中后跳转到源文件中的链接处
+ */
+public class DocLinkNavigationItem implements NavigationItem, ItemPresentation {
+
+    private final Project project;
+    private final VirtualFile sourceFile;
+    private final String target;
+    private final DocLinkTargetIndex.Location location;
+
+    public DocLinkNavigationItem(@NotNull Project project, @NotNull VirtualFile sourceFile, @NotNull String target,
+                                 @NotNull DocLinkTargetIndex.Location location) {
+        this.project = project;
+        this.sourceFile = sourceFile;
+        this.target = target;
+        this.location = location;
+    }
+
+    public @NotNull VirtualFile getSourceFile() {
+        return sourceFile;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return target;
+    }
+
+    @Override
+    public @NotNull ItemPresentation getPresentation() {
+        return this;
+    }
+
+    @Override
+    public @NotNull String getPresentableText() {
+        return target;
+    }
+
+    @Override
+    public @NotNull String getLocationString() {
+        return sourceFile.getName() + ":" + (location.line + 1);
+    }
+
+    @Override
+    public @Nullable Icon getIcon(boolean unused) {
+        return sourceFile.getFileType().getIcon();
+    }
+
+    @Override
+    public void navigate(boolean requestFocus) {
+        new OpenFileDescriptor(project, sourceFile, location.start).navigate(requestFocus);
+    }
+
+    @Override
+    public boolean canNavigate() {
+        return sourceFile.isValid();
+    }
+
+    @Override
+    public boolean canNavigateToSource() {
+        return canNavigate();
+    }
+}
@@ -0,0 +1,260 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.RangeMarker;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFileSystemItem;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.refactoring.listeners.RefactoringElementListener;
+import com.intellij.refactoring.listeners.RefactoringElementListenerProvider;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 移动、重命名文件或目录后批量更新链接路径
+ * <p>
+ * 重构开始前通过 DocLinkIndex 找出受影响的链接：指向被移动文件（或目录内文件）的链接，
+ * 以及被移动文件中按相对路径指向外部文件的链接，并在链接位置创建 RangeMarker；
+ * 重构完成后 VirtualFile 仍是同一个对象，按新位置重新计算路径，所有修改在同一个写命令中完成，可以一次撤销
+ * 路径保持原来的写法（相对路径、项目路径、文档根目录路径、只有文件名、绝对路径），见 PathStyle
+ * <p>
+ * DocLinkReference 的 handleElementRename / bindToElement 不做修改，避免与这里重复更新
+ */
+public class DocLinkRefactoringListenerProvider implements RefactoringElementListenerProvider {
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Update Doc Links",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "更新文档链接",
+    };*/
+
+    /**
+     * 链接路径的写法，更新后保持不变
+     */
+    private enum PathStyle {
+        RELATIVE,       // 相对于源文件所在目录
+        PROJECT,        // 相对于项目根目录
+        DOC_ROOT,       // 相对于项目级、模块级设置中的文档根目录
+        FILE_NAME,      // 只有文件名，按文件名在项目中查找，只有重命名时才修改
+        ABSOLUTE,       // 绝对路径
+    }
+
+    /**
+     * 一个待更新的链接
+     */
+    private static final class PendingLink {
+        final VirtualFile sourceFile;
+        final VirtualFile targetFile;
+        final RangeMarker marker;       // 链接路径（含引号）在源文件中的范围
+        final String oldPath;
+        final PathStyle style;
+        final VirtualFile docRoot;      // DOC_ROOT 时路径所相对的文档根目录，其余为 null
+
+        PendingLink(VirtualFile sourceFile, VirtualFile targetFile, RangeMarker marker, String oldPath, PathStyle style,
+                    @Nullable VirtualFile docRoot) {
+            this.sourceFile = sourceFile;
+            this.targetFile = targetFile;
+            this.marker = marker;
+            this.oldPath = oldPath;
+            this.style = style;
+            this.docRoot = docRoot;
+        }
+    }
+
+    @Override
+    public @Nullable RefactoringElementListener getListener(PsiElement element) {
+        if (!(element instanceof PsiFileSystemItem)) {
+            return null;
+        }
+        VirtualFile file = ((PsiFileSystemItem) element).getVirtualFile();
+        Project project = element.getProject();
+        if (file == null || DumbService.isDumb(project)) {
+            return null;
+        }
+
+        List<PendingLink> links = collectLinks(project, file);
+        if (links.isEmpty()) {
+            return null;
+        }
+        return new RefactoringElementListener() {
+            @Override
+            public void elementMoved(@NotNull PsiElement newElement) {
+                updateLinks(project, links);
+            }
+
+            @Override
+            public void elementRenamed(@NotNull PsiElement newElement) {
+                updateLinks(project, links);
+            }
+        };
+    }
+
+    /**
+     * 收集受影响的链接
+     */
+    private static List<PendingLink> collectLinks(Project project, VirtualFile moved) {
+        List<VirtualFile> files = new ArrayList<>();
+        VfsUtilCore.iterateChildrenRecursively(moved, null, child -> {
+            if (!child.isDirectory()) {
+                files.add(child);
+            }
+            return true;
+        });
+
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        DocLinkResolver resolver = DocLinkResolver.getInstance(project);
+        List<PendingLink> links = new ArrayList<>();
+        Set<Pair<VirtualFile, Integer>> seen = new HashSet<>();
+        for (VirtualFile file : files) {
+            // 1. 指向被移动文件的链接
+            DocLinkIndex.processLinksTo(project, file, scope, link -> {
+                addLink(project, link.sourceFile, file, link.entry, seen, links);
+                return true;
+            });
+            // 2. 被移动文件中的链接（相对路径会随源文件的位置变化）
+            Map<String, List<DocLinkIndex.Entry>> data = FileBasedIndex.getInstance().getFileData(DocLinkIndex.NAME, file, project);
+            for (List<DocLinkIndex.Entry> entries : data.values()) {
+                for (DocLinkIndex.Entry entry : entries) {
+                    VirtualFile target = resolver.resolve(file, entry.filePath);
+                    if (target != null) {
+                        addLink(project, file, target, entry, seen, links);
+                    }
+                }
+            }
+        }
+        return links;
+    }
+
+    private static void addLink(Project project, VirtualFile sourceFile, VirtualFile targetFile, DocLinkIndex.Entry entry,
+                                Set<Pair<VirtualFile, Integer>> seen, List<PendingLink> links) {
+        if (!seen.add(Pair.create(sourceFile, entry.start))) {
+            return;
+        }
+        Document document = FileDocumentManager.getInstance().getDocument(sourceFile);
+        if (document == null || !document.isWritable() || entry.pathEnd > document.getTextLength()) {
+            return;
+        }
+        RangeMarker marker = document.createRangeMarker(entry.pathStart, entry.pathEnd);
+        String filePath = entry.filePath;
+        VirtualFile docRoot = findDocRoot(project, sourceFile, targetFile, filePath);
+        PathStyle style = docRoot != null ? PathStyle.DOC_ROOT : getStyle(project, sourceFile, targetFile, filePath);
+        links.add(new PendingLink(sourceFile, targetFile, marker, filePath, style, docRoot));
+    }
+
+    /**
+     * 按链接原来的解析方式确定写法，顺序与 DocLinkResolver 查找的顺序一致
+     */
+    private static PathStyle getStyle(Project project, VirtualFile sourceFile, VirtualFile targetFile, String filePath) {
+        try {
+            if (Paths.get(filePath).isAbsolute()) {
+                return PathStyle.ABSOLUTE;
+            }
+        } catch (InvalidPathException ignored) {
+        }
+        // 只有文件名的链接保持只写文件名，不改成带目录的路径
+        if (Utils.isFileNameOnly(filePath)) {
+            return PathStyle.FILE_NAME;
+        }
+        VirtualFile sourceDir = sourceFile.getParent();
+        if (sourceDir != null && targetFile.equals(sourceDir.findFileByRelativePath(filePath))) {
+            return PathStyle.RELATIVE;
+        }
+        return project.getBaseDir() != null ? PathStyle.PROJECT : PathStyle.ABSOLUTE;
+    }
+
+    /**
+     * 链接路径相对于某个文档根目录解析到目标文件时返回该目录（源文件目录、项目根目录优先）
+     */
+    private static @Nullable VirtualFile findDocRoot(Project project, VirtualFile sourceFile, VirtualFile targetFile,
+                                                     String filePath) {
+        if (Utils.isFileNameOnly(filePath)) {
+            return null;
+        }
+        VirtualFile sourceDir = sourceFile.getParent();
+        VirtualFile base = project.getBaseDir();
+        if (sourceDir != null && targetFile.equals(sourceDir.findFileByRelativePath(filePath))
+            || base != null && targetFile.equals(base.findFileByRelativePath(filePath))) {
+            return null;
+        }
+        for (VirtualFile root : DocLinkConfigService.getInstance(project).getDocRoots(sourceFile)) {
+            if (targetFile.equals(root.findFileByRelativePath(filePath))) {
+                return root;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 按文件的新位置计算路径并替换，所有修改在同一个写命令中完成
+     * 在重构自身的命令中调用时会合并到同一个撤销步骤
+     */
+    private static void updateLinks(Project project, List<PendingLink> links) {
+        WriteCommandAction.writeCommandAction(project).withName(SELECT_NAME[0]).run(() -> {
+            Set<Document> changed = new HashSet<>();
+            for (PendingLink link : links) {
+                RangeMarker marker = link.marker;
+                String newPath = link.targetFile.isValid() && marker.isValid() ? getNewPath(project, link) : null;
+                if (newPath != null && !newPath.equals(link.oldPath)) {
+                    // 只替换链接中的路径部分，保留引号；路径已被其他修改改动时跳过
+                    Document document = marker.getDocument();
+                    String rawPath = document.getText(marker.getTextRange());
+                    if (Utils.formatPath(rawPath).equals(link.oldPath)) {
+                        int start = marker.getStartOffset() + (rawPath.startsWith("\"") ? 1 : 0);
+                        document.replaceString(start, start + link.oldPath.length(), newPath);
+                        changed.add(document);
+                    }
+                }
+                marker.dispose();
+            }
+            PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(project);
+            for (Document document : changed) {
+                psiDocumentManager.commitDocument(document);
+            }
+        });
+    }
+
+    private static @Nullable String getNewPath(Project project, PendingLink link) {
+        VirtualFile target = link.targetFile;
+        switch (link.style) {
+            case RELATIVE: {
+                String path = VfsUtilCore.findRelativePath(link.sourceFile, target, '/');
+                return path != null ? path : target.getPath();
+            }
+            case PROJECT:
+                return getProjectPath(project, target);
+            case DOC_ROOT: {
+                // 移出文档根目录后改为相对于项目根目录
+                String path = link.docRoot.isValid() ? VfsUtilCore.getRelativePath(target, link.docRoot, '/') : null;
+                return path != null ? path : getProjectPath(project, target);
+            }
+            case FILE_NAME:
+                return target.getName();
+            default:
+                return target.getPath();
+        }
+    }
+
+    private static String getProjectPath(Project project, VirtualFile target) {
+        VirtualFile base = project.getBaseDir();
+        String path = base == null ? null : VfsUtilCore.getRelativePath(target, base, '/');
+        return path != null ? path : target.getPath();
+    }
+}
@@ -2,7 +2,6 @@ package com.saysawgames.filelinknavigator;
 
 import com.intellij.openapi.fileEditor.OpenFileDescriptor;
 import com.intellij.openapi.util.TextRange;
-import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.pom.Navigatable;
 import com.intellij.psi.*;
@@ -10,9 +9,6 @@ import com.intellij.psi.impl.FakePsiElement;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
 /**
  * 文档链接的引用实现
  * 这个类使得链接可以被 Ctrl+点击识别和导航，并正确跳转到指定行号
@@ -21,14 +17,28 @@ public class DocLinkReference extends PsiReferenceBase<PsiElement> implements Ps
 
     private final String filePath;
     private final int lineNumber;
+    private final String anchor;
+    private final String fingerprint;
 
     public DocLinkReference(@NotNull PsiElement element, TextRange rangeInElement,
                             String filePath, int lineNumber) {
+        this(element, rangeInElement, filePath, lineNumber, null);
+    }
+
+    public DocLinkReference(@NotNull PsiElement element, TextRange rangeInElement,
+                            String filePath, int lineNumber, String anchor) {
+        this(element, rangeInElement, filePath, lineNumber, anchor, null);
+    }
+
+    public DocLinkReference(@NotNull PsiElement element, TextRange rangeInElement,
+                            String filePath, int lineNumber, String anchor, String fingerprint) {
         // 关键修复1: super 构造函数第三个参数设为 false，使其成为非软引用
         // 这样每次点击都会重新解析，避免缓存导致的行号不刷新问题
         super(element, rangeInElement, false);
         this.filePath = filePath;
         this.lineNumber = lineNumber;
+        this.anchor = anchor;
+        this.fingerprint = fingerprint;
     }
 
     @Override
@@ -39,17 +49,32 @@ public class DocLinkReference extends PsiReferenceBase<PsiElement> implements Ps
 
     @Override
     public ResolveResult @NotNull [] multiResolve(boolean incompleteCode) {
-        VirtualFile targetFile = findFile(myElement.getProject(), myElement.getContainingFile());
+        long start = DocLinkMetrics.start();
+        try {
+            return doMultiResolve();
+        } finally {
+            DocLinkMetrics.RESOLVE.record(start);
+        }
+    }
+
+    private ResolveResult @NotNull [] doMultiResolve() {
+        VirtualFile sourceFile = myElement.getContainingFile().getOriginalFile().getVirtualFile();
+        if (sourceFile == null) {
+            return ResolveResult.EMPTY_ARRAY;
+        }
+        VirtualFile targetFile = DocLinkResolver.getInstance(myElement.getProject()).resolve(sourceFile, filePath);
 
         if (targetFile != null) {
             PsiManager psiManager = PsiManager.getInstance(myElement.getProject());
             PsiFile psiFile = psiManager.findFile(targetFile);
 
             if (psiFile != null) {
+                // 有标题锚点时，从目标文档的大纲缓存中取标题所在行；有指纹时按内容重新定位
+                int targetLine = MarkdownOutlineCache.resolveLineNumber(psiFile, anchor, lineNumber, fingerprint);
                 // 关键修复2: 创建包装对象，将行号信息嵌入到 PsiElement 中
                 // 这样 IDEA 在导航时会使用我们自定义的 navigate() 方法
                 return new ResolveResult[]{
-                    new PsiElementResolveResult(new NavigatablePsiFileElement(psiFile, targetFile, lineNumber))
+                    new PsiElementResolveResult(new NavigatablePsiFileElement(psiFile, targetFile, targetLine))
                 };
             }
         }
@@ -66,7 +91,7 @@ public class DocLinkReference extends PsiReferenceBase<PsiElement> implements Ps
 
     @Override
     public PsiElement handleElementRename(@NotNull String newElementName) {
-        // 不支持重命名
+        // 目标文件重命名、移动后的链接更新由 DocLinkRefactoringListenerProvider 统一批量完成，这里不重复修改
         return myElement;
     }
 
@@ -75,33 +100,14 @@ public class DocLinkReference extends PsiReferenceBase<PsiElement> implements Ps
         return myElement;
     }
 
-    /**
-     * 查找目标文件
-     */
-    private VirtualFile findFile(com.intellij.openapi.project.Project project, PsiFile currentFile) {
-        // 1. 尝试相对于当前文件的路径
-        VirtualFile currentDir = currentFile.getVirtualFile().getParent();
-        VirtualFile relativeFile = currentDir.findFileByRelativePath(filePath);
-        if (relativeFile != null && relativeFile.exists()) {
-            return relativeFile;
-        }
-
-        // 2. 尝试相对于项目根目录的路径
-        VirtualFile projectBase = project.getBaseDir();
-        if (projectBase != null) {
-            VirtualFile projectFile = projectBase.findFileByRelativePath(filePath);
-            if (projectFile != null && projectFile.exists()) {
-                return projectFile;
-            }
-        }
-
-        // 3. 尝试绝对路径
-        Path absolutePath = Paths.get(filePath);
-        if (absolutePath.isAbsolute()) {
-            return LocalFileSystem.getInstance().findFileByPath(filePath);
+    @Override
+    public boolean isReferenceTo(@NotNull PsiElement element) {
+        // 供 Find Usages 使用：解析结果是包装对象，需要比较它所包装的文件
+        if (!(element instanceof PsiFileSystemItem)) {
+            return false;
         }
-
-        return null;
+        PsiElement resolved = resolve();
+        return resolved != null && element.getManager().areElementsEquivalent(resolved.getParent(), element);
     }
 
     /**
@@ -110,8 +116,9 @@ public class DocLinkReference extends PsiReferenceBase<PsiElement> implements Ps
      * 在 navigate() 方法中，我们创建包含行号的 OpenFileDescriptor 进行精确跳转
      * <p>
      * 使用 FakePsiElement 基类来简化实现
+     * 悬停预览（DocLinkDocumentationProvider）也通过它取得目标文件和行号
      */
-    private static class NavigatablePsiFileElement extends FakePsiElement implements Navigatable {
+    static class NavigatablePsiFileElement extends FakePsiElement implements Navigatable {
         private final PsiFile psiFile;
         private final VirtualFile virtualFile;
         private final int lineNumber;
@@ -127,9 +134,22 @@ public class DocLinkReference extends PsiReferenceBase<PsiElement> implements Ps
             return psiFile;
         }
 
+        public VirtualFile getVirtualFile() {
+            return virtualFile;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
         @Override
         public void navigate(boolean requestFocus) {
             if (canNavigate()) {
+                // 大文件只读取目标行附近的内容，不加载整个文件
+                if (LargeFileNavigator.isLargeFile(virtualFile)) {
+                    LargeFileNavigator.navigate(psiFile.getProject(), virtualFile, lineNumber, requestFocus);
+                    return;
+                }
                 // 关键：创建包含精确行号和列号的文件描述符
                 // lineNumber - 1 是因为 IDEA 的行号从 0 开始，而用户输入的行号从 1 开始
                 OpenFileDescriptor descriptor = new OpenFileDescriptor(
@@ -0,0 +1,119 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.application.QueryExecutorBase;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileSystemItem;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 为 Find Usages 提供文档链接：在文档文件、目录或 Markdown 标题上查找引用它的代码注释
+ * 基于 DocLinkIndex 查询，不做全文搜索；其他元素直接跳过，不读取文档
+ */
+public class DocLinkReferencesSearcher extends QueryExecutorBase<PsiReference, ReferencesSearch.SearchParameters> {
+
+    public DocLinkReferencesSearcher() {
+        super(true);
+    }
+
+    @Override
+    public void processQuery(@NotNull ReferencesSearch.SearchParameters queryParameters,
+                             @NotNull Processor<? super PsiReference> consumer) {
+        PsiElement target = queryParameters.getElementToSearch();
+        Project project = queryParameters.getProject();
+        SearchScope searchScope = queryParameters.getEffectiveSearchScope();
+        GlobalSearchScope scope = searchScope instanceof GlobalSearchScope
+            ? (GlobalSearchScope) searchScope
+            : GlobalSearchScope.projectScope(project);
+
+        // 文件或目录：查找指向它的所有链接
+        if (target instanceof PsiFileSystemItem) {
+            VirtualFile targetFile = ((PsiFileSystemItem) target).getVirtualFile();
+            if (targetFile != null) {
+                processReferences(project, targetFile, scope, 0, Integer.MAX_VALUE, consumer);
+            }
+            return;
+        }
+
+        // 文件内的元素：只处理有链接指向的文件中的标题，先查索引，再读取文档和大纲
+        PsiFile targetFile = target.getContainingFile();
+        VirtualFile targetVirtualFile = targetFile == null ? null : targetFile.getVirtualFile();
+        if (targetVirtualFile == null || !DocLinkIndex.hasLinksTo(project, targetVirtualFile, scope)) {
+            return;
+        }
+        Document document = PsiDocumentManager.getInstance(project).getDocument(targetFile);
+        TextRange range = target.getTextRange();
+        if (document == null || range == null) {
+            return;
+        }
+        // 只保留指向该元素所在行的链接
+        int startLine = document.getLineNumber(range.getStartOffset()) + 1;
+        int endLine = document.getLineNumber(range.getEndOffset()) + 1;
+        if (!containsHeading(targetFile, startLine, endLine)) {
+            return;
+        }
+        processReferences(project, targetVirtualFile, scope, startLine, endLine, consumer);
+    }
+
+    private static boolean containsHeading(PsiFile file, int startLine, int endLine) {
+        for (MarkdownOutline.Heading heading : MarkdownOutlineCache.getOutline(file).getHeadings()) {
+            if (heading.lineNumber >= startLine && heading.lineNumber <= endLine) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 遍历指向目标文件指定行范围内的所有链接，并转换为 DocLinkReference
+     *
+     * @param startLine 起始行（从 1 开始，包含）
+     * @param endLine   结束行（包含）
+     */
+    public static boolean processReferences(@NotNull Project project, @NotNull VirtualFile targetFile,
+                                            @NotNull GlobalSearchScope scope, int startLine, int endLine,
+                                            @NotNull Processor<? super PsiReference> consumer) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        // 整个文件范围内的查找不需要换算行号，不读取大纲，也不为指纹重新定位加载目标文档
+        boolean wholeFile = startLine <= 1 && endLine == Integer.MAX_VALUE;
+        PsiFile targetPsiFile = wholeFile || targetFile.isDirectory() ? null : psiManager.findFile(targetFile);
+        return DocLinkIndex.processLinksTo(project, targetFile, scope, link -> {
+            int lineNumber = Math.max(1, link.entry.lineNumber);
+            if (!wholeFile) {
+                // 锚点链接按目标文档当前的大纲换算成行号，带指纹的链接按内容重新定位
+                int targetLine = targetPsiFile == null ? lineNumber
+                    : MarkdownOutlineCache.resolveLineNumber(targetPsiFile, link.entry.anchor, lineNumber, link.entry.fingerprint);
+                if (targetLine < startLine || targetLine > endLine) {
+                    return true;
+                }
+            }
+
+            PsiFile sourceFile = psiManager.findFile(link.sourceFile);
+            if (sourceFile == null) {
+                return true;
+            }
+            PsiComment comment = PsiTreeUtil.getParentOfType(sourceFile.findElementAt(link.entry.start), PsiComment.class, false);
+            if (comment == null || !comment.getTextRange().contains(new TextRange(link.entry.start, link.entry.end))) {
+                return true;
+            }
+
+            int commentStart = comment.getTextRange().getStartOffset();
+            TextRange range = new TextRange(link.entry.start - commentStart, link.entry.end - commentStart);
+            return consumer.process(new DocLinkReference(comment, range, link.entry.filePath, lineNumber,
+                link.entry.anchor, link.entry.fingerprint));
+        });
+    }
+}
@@ -0,0 +1,366 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文档链接路径解析服务（项目级）
+ * 统一了 DocLinkReference 和 NavigateToDocIntentionAction 中原先重复的 findFile 逻辑
+ * <p>
+ * 按（源文件目录，链接路径）缓存解析结果，找到和找不到都会缓存；
+ * 文件创建、删除、移动、重命名时通过 VFS 监听器清除缓存
+ * 这里只缓存“路径 → 文件”，行号仍然每次从注释中读取，不会出现行号不刷新的问题
+ * <p>
+ * 项目级、模块级设置中的文档根目录（DocLinkConfigService.getDocRoots）在项目根目录之后查找，设置变化时清空缓存
+ * <p>
+ * 只有文件名的链接（如 @doc design.md:12）在以上方式都找不到时按文件名在整个项目中查找，
+ * 同名文件按与源文件的目录距离排序，最近的优先；文件名 → 同名文件列表同样缓存，随 VFS 事件清除
+ */
+public final class DocLinkResolver implements Disposable {
+
+    // 负缓存的占位值（ConcurrentHashMap 不能存 null）
+    private static final Object NOT_FOUND = new Object();
+
+    private final Project project;
+    private final Map<CacheKey, Object> cache = new ConcurrentHashMap<>();
+    // 文件名 → 项目中所有同名文件（按路径排序）
+    private final Map<String, VirtualFile[]> filesByName = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存键：源文件所在目录 + 链接路径
+     */
+    private static final class CacheKey {
+        final VirtualFile sourceDir;
+        final String filePath;
+        final int hash;
+
+        CacheKey(VirtualFile sourceDir, String filePath) {
+            this.sourceDir = sourceDir;
+            this.filePath = filePath;
+            this.hash = 31 * sourceDir.hashCode() + filePath.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return sourceDir.equals(other.sourceDir) && filePath.equals(other.filePath);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    public DocLinkResolver(Project project) {
+        this.project = project;
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                onFilesChanged(events);
+            }
+        });
+    }
+
+    public static DocLinkResolver getInstance(@NotNull Project project) {
+        return project.getService(DocLinkResolver.class);
+    }
+
+    /**
+     * 解析链接路径
+     * 支持：相对于当前文件的路径、相对于项目根目录的路径、相对于文档根目录的路径、绝对路径、只有文件名时按文件名查找
+     *
+     * @param sourceFile 链接所在的源文件
+     * @param filePath   链接中的文件路径（已去掉引号）
+     * @return 目标文件，找不到时返回 null
+     */
+    public @Nullable VirtualFile resolve(@NotNull VirtualFile sourceFile, @NotNull String filePath) {
+        VirtualFile sourceDir = sourceFile.getParent();
+        if (sourceDir == null) {
+            return findFile(null, filePath);
+        }
+
+        CacheKey key = new CacheKey(sourceDir, filePath);
+        Object cached = cache.get(key);
+        DocLinkMetrics.RESOLVER_CACHE.request();
+        if (cached == NOT_FOUND) {
+            return null;
+        }
+        if (cached != null && ((VirtualFile) cached).isValid()) {
+            return (VirtualFile) cached;
+        }
+
+        DocLinkMetrics.RESOLVER_CACHE.miss();
+        VirtualFile file = findFile(sourceDir, filePath);
+        putCache(key, file);
+        return file;
+    }
+
+    private void putCache(CacheKey key, @Nullable VirtualFile file) {
+        // 索引不可用时按文件名查找会直接失败，这样的结果不缓存，索引完成后重新查找
+        if (file == null && Utils.isFileNameOnly(key.filePath) && DumbService.isDumb(project)) {
+            return;
+        }
+        cache.put(key, file != null ? file : NOT_FOUND);
+    }
+
+    /**
+     * 批量解析一个文件中的所有链接路径
+     * 相同的路径只解析一次；缓存未命中的路径按所在目录分组，同一目录只在 VFS 中查找一次
+     * 每个路径之前检查是否取消，后台预热遇到写操作或输入时可以及时中断
+     *
+     * @param sourceFile 链接所在的源文件
+     * @param filePaths  链接中的文件路径（已去掉引号），可以有重复
+     * @return 路径 → 目标文件，找不到的路径对应 null
+     */
+    public @NotNull Map<String, VirtualFile> resolveAll(@NotNull VirtualFile sourceFile, @NotNull Collection<String> filePaths) {
+        Map<String, VirtualFile> result = new HashMap<>();
+        VirtualFile sourceDir = sourceFile.getParent();
+        // 本次批量解析中已查找过的目录：(基准目录, 相对目录) → 目录
+        Map<CacheKey, Object> directories = new HashMap<>();
+        for (String filePath : filePaths) {
+            ProgressManager.checkCanceled();
+            if (result.containsKey(filePath)) {
+                continue;
+            }
+            if (sourceDir == null) {
+                result.put(filePath, findFile(null, filePath, directories));
+                continue;
+            }
+            CacheKey key = new CacheKey(sourceDir, filePath);
+            Object cached = cache.get(key);
+            DocLinkMetrics.RESOLVER_CACHE.request();
+            if (cached == NOT_FOUND) {
+                result.put(filePath, null);
+            } else if (cached != null && ((VirtualFile) cached).isValid()) {
+                result.put(filePath, (VirtualFile) cached);
+            } else {
+                DocLinkMetrics.RESOLVER_CACHE.miss();
+                VirtualFile file = findFile(sourceDir, filePath, directories);
+                putCache(key, file);
+                result.put(filePath, file);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量解析一组匹配结果中的链接路径，路径会先去掉引号
+     */
+    public @NotNull Map<String, VirtualFile> resolveMatches(@NotNull VirtualFile sourceFile,
+                                                            @NotNull Collection<DocLinkParser.DocLinkMatch> matches) {
+        List<String> filePaths = new ArrayList<>(matches.size());
+        for (DocLinkParser.DocLinkMatch match : matches) {
+            filePaths.add(Utils.formatPath(match.filePath));
+        }
+        return resolveAll(sourceFile, filePaths);
+    }
+
+    /**
+     * 查找目标文件（不使用缓存）
+     */
+    private @Nullable VirtualFile findFile(@Nullable VirtualFile currentDir, @NotNull String filePath) {
+        return findFile(currentDir, filePath, null);
+    }
+
+    private @Nullable VirtualFile findFile(@Nullable VirtualFile currentDir, @NotNull String filePath,
+                                           @Nullable Map<CacheKey, Object> directories) {
+        long start = DocLinkMetrics.start();
+        try {
+            return doFindFile(currentDir, filePath, directories);
+        } finally {
+            DocLinkMetrics.FIND_FILE.record(start);
+        }
+    }
+
+    private @Nullable VirtualFile doFindFile(@Nullable VirtualFile currentDir, @NotNull String filePath,
+                                             @Nullable Map<CacheKey, Object> directories) {
+        // 1. 尝试相对于当前文件的路径
+        if (currentDir != null) {
+            VirtualFile relativeFile = findRelative(currentDir, filePath, directories);
+            if (relativeFile != null && relativeFile.exists()) {
+                return relativeFile;
+            }
+        }
+
+        // 2. 尝试相对于项目根目录的路径
+        VirtualFile projectBase = project.getBaseDir();
+        if (projectBase != null) {
+            VirtualFile projectFile = findRelative(projectBase, filePath, directories);
+            if (projectFile != null && projectFile.exists()) {
+                return projectFile;
+            }
+        }
+
+        // 3. 尝试相对于设置中的文档根目录（模块级设置优先）
+        if (currentDir != null) {
+            for (VirtualFile docRoot : DocLinkConfigService.getInstance(project).getDocRoots(currentDir)) {
+                VirtualFile docFile = findRelative(docRoot, filePath, directories);
+                if (docFile != null && docFile.exists()) {
+                    return docFile;
+                }
+            }
+        }
+
+        // 4. 尝试绝对路径
+        try {
+            Path absolutePath = Paths.get(filePath);
+            if (absolutePath.isAbsolute()) {
+                return LocalFileSystem.getInstance().findFileByPath(filePath);
+            }
+        } catch (InvalidPathException e) {
+            return null;
+        }
+
+        // 5. 只有文件名时，在整个项目中按文件名查找
+        return Utils.isFileNameOnly(filePath) ? findByName(currentDir, filePath) : null;
+    }
+
+    /**
+     * 按文件名查找，多个同名文件时取与源文件目录距离最近的（距离相同时取路径排序靠前的）
+     */
+    private @Nullable VirtualFile findByName(@Nullable VirtualFile currentDir, @NotNull String fileName) {
+        VirtualFile[] candidates = filesByName.get(fileName);
+        if (candidates == null) {
+            if (DumbService.isDumb(project)) {
+                return null;
+            }
+            candidates = FilenameIndex.getVirtualFilesByName(fileName, GlobalSearchScope.projectScope(project))
+                .toArray(VirtualFile.EMPTY_ARRAY);
+            Arrays.sort(candidates, Comparator.comparing(VirtualFile::getPath));
+            filesByName.put(fileName, candidates);
+        }
+        if (candidates.length == 0) {
+            return null;
+        }
+        if (candidates.length == 1 || currentDir == null) {
+            return candidates[0];
+        }
+
+        VirtualFile nearest = null;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (VirtualFile candidate : candidates) {
+            int distance = getDistance(currentDir, candidate.getParent());
+            if (distance < nearestDistance) {
+                nearest = candidate;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * 两个目录之间的距离：经过共同祖先目录需要的层数
+     */
+    private static int getDistance(@NotNull VirtualFile from, @Nullable VirtualFile to) {
+        if (to == null) {
+            return Integer.MAX_VALUE;
+        }
+        VirtualFile ancestor = VfsUtilCore.getCommonAncestor(from, to);
+        if (ancestor == null) {
+            return Integer.MAX_VALUE;
+        }
+        return getDepth(from, ancestor) + getDepth(to, ancestor);
+    }
+
+    private static int getDepth(VirtualFile file, VirtualFile ancestor) {
+        int depth = 0;
+        for (VirtualFile current = file; current != null && !current.equals(ancestor); current = current.getParent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * 查找相对路径；批量解析时先按目录部分查找并记录，同一目录下的多个文件共用一次目录查找
+     */
+    private static @Nullable VirtualFile findRelative(@NotNull VirtualFile base, @NotNull String filePath,
+                                                      @Nullable Map<CacheKey, Object> directories) {
+        int slash = filePath.lastIndexOf('/');
+        if (directories == null || slash <= 0) {
+            return base.findFileByRelativePath(filePath);
+        }
+        Object directory = directories.computeIfAbsent(new CacheKey(base, filePath.substring(0, slash)), key -> {
+            VirtualFile found = key.sourceDir.findFileByRelativePath(key.filePath);
+            return found != null ? found : NOT_FOUND;
+        });
+        return directory == NOT_FOUND ? null : ((VirtualFile) directory).findFileByRelativePath(filePath.substring(slash + 1));
+    }
+
+    /**
+     * VFS 事件处理
+     * 创建、复制、移动、重命名可能让找不到的链接变得可以解析，也可能让相对路径优先命中新文件，
+     * 因此清空整个缓存；删除只会让已命中的文件或源目录失效，清除这些条目即可
+     */
+    private void onFilesChanged(List<? extends VFileEvent> events) {
+        boolean deleted = false;
+        for (VFileEvent event : events) {
+            if (event instanceof VFileContentChangeEvent) {
+                continue;
+            }
+            if (event instanceof VFilePropertyChangeEvent
+                && !VirtualFile.PROP_NAME.equals(((VFilePropertyChangeEvent) event).getPropertyName())) {
+                continue;
+            }
+            if (event instanceof VFileDeleteEvent) {
+                deleted = true;
+                continue;
+            }
+            cache.clear();
+            filesByName.clear();
+            return;
+        }
+        if (deleted) {
+            filesByName.clear();
+            cache.entrySet().removeIf(entry -> !entry.getKey().sourceDir.isValid()
+                || entry.getValue() != NOT_FOUND && !((VirtualFile) entry.getValue()).isValid());
+        }
+    }
+
+    /**
+     * 清空所有解析结果（文档根目录等设置变化后调用）
+     */
+    public void clearCache() {
+        cache.clear();
+        filesByName.clear();
+    }
+
+    @Override
+    public void dispose() {
+        cache.clear();
+        filesByName.clear();
+    }
+}
@@ -0,0 +1,297 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileDocumentManagerListener;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectLocator;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.messages.Topic;
+import com.saysawgames.filelinknavigator.settings.SettingsState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 保存时在后台检查失效链接（项目级），结果显示在 “File Link Navigator” 工具窗口的 Broken Links 标签页
+ * <p>
+ * 保存的文件先记录下来，停止保存 DELAY_MILLIS 后统一检查，每个文件一个可中断的后台读操作，
+ * 在最多 MAX_THREADS 个线程的专用执行器上运行，遇到写操作时让出并重新开始，不会阻塞 EDT 或高亮线程
+ * <p>
+ * 增量更新：只重新检查保存的文件中的链接，以及（通过 DocLinkIndex）指向保存的文件的链接，
+ * 其余文件的结果保持不变；路径解析、行数、大纲等都复用已有的缓存
+ */
+public final class DocLinkSaveValidator implements Disposable {
+
+    // 停止保存多久后开始检查
+    private static final int DELAY_MILLIS = 500;
+    // 后台检查最多使用的线程数
+    private static final int MAX_THREADS = 2;
+
+    /**
+     * 某个源文件的检查结果发生变化（在 EDT 上通知）
+     */
+    public interface ProblemsListener {
+        Topic<ProblemsListener> TOPIC = Topic.create("DocLink broken links", ProblemsListener.class);
+
+        void problemsChanged(@NotNull VirtualFile sourceFile);
+    }
+
+    /**
+     * 一个失效链接
+     */
+    public static final class Problem {
+        public final VirtualFile sourceFile;
+        public final VirtualFile targetFile;    // 找不到目标文件时为 null
+        public final int start;                 // 链接在源文件中的偏移
+        public final int line;                  // 链接在源文件中的行号（从 1 开始）
+        public final String link;
+        public final String message;
+
+        Problem(VirtualFile sourceFile, VirtualFile targetFile, int start, int line, String link, String message) {
+            this.sourceFile = sourceFile;
+            this.targetFile = targetFile;
+            this.start = start;
+            this.line = line;
+            this.link = link;
+            this.message = message;
+        }
+    }
+
+    /**
+     * 一次检查的结果：保存的文件自身的问题，以及指向它的其他文件中链接的问题
+     */
+    private static final class Result {
+        final VirtualFile file;
+        final List<Problem> own = new ArrayList<>();
+        final Map<VirtualFile, List<Problem>> incoming = new HashMap<>();
+
+        Result(VirtualFile file) {
+            this.file = file;
+        }
+    }
+
+    private final Project project;
+    private final Alarm alarm;
+    private final ExecutorService executor;
+    // 等待检查的文件，只在 EDT 上访问
+    private final Set<VirtualFile> pending = new LinkedHashSet<>();
+    // 源文件 → 失效链接，只在 EDT 上修改
+    private final Map<VirtualFile, List<Problem>> problems = new HashMap<>();
+
+    public DocLinkSaveValidator(Project project) {
+        this.project = project;
+        this.alarm = new Alarm(this);
+        this.executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("DocLink Save Validation", MAX_THREADS, this);
+    }
+
+    public static DocLinkSaveValidator getInstance(@NotNull Project project) {
+        return project.getService(DocLinkSaveValidator.class);
+    }
+
+    /**
+     * 文档保存前记录文件，普通编辑不会触发
+     */
+    public static final class SaveListener implements FileDocumentManagerListener {
+        @Override
+        public void beforeDocumentSaving(@NotNull Document document) {
+            SettingsState settings = SettingsState.getInstance();
+            if (settings != null && !settings.validateOnSave) {
+                return;
+            }
+            VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+            if (file == null || !file.isInLocalFileSystem()) {
+                return;
+            }
+            Project project = ProjectLocator.getInstance().guessProjectForFile(file);
+            if (project == null || project.isDisposed() || !ProjectFileIndex.getInstance(project).isInContent(file)) {
+                return;
+            }
+            getInstance(project).fileSaved(file);
+        }
+    }
+
+    private void fileSaved(VirtualFile file) {
+        pending.add(file);
+        alarm.cancelAllRequests();
+        alarm.addRequest(this::flush, DELAY_MILLIS);
+    }
+
+    private void flush() {
+        if (project.isDisposed()) {
+            return;
+        }
+        List<VirtualFile> files = new ArrayList<>(pending);
+        pending.clear();
+        for (VirtualFile file : files) {
+            // 同一个文件的检查还没完成时再次保存，只保留最新的一次
+            ReadAction.nonBlocking(() -> validate(file))
+                .inSmartMode(project)
+                .expireWith(this)
+                .coalesceBy(this, file)
+                .finishOnUiThread(ModalityState.any(), this::publish)
+                .submit(executor);
+        }
+    }
+
+    /**
+     * 所有源文件的失效链接（EDT）
+     */
+    public @NotNull Map<VirtualFile, List<Problem>> getProblems() {
+        return Collections.unmodifiableMap(problems);
+    }
+
+    /**
+     * 某个源文件的失效链接（EDT）
+     */
+    public @NotNull List<Problem> getProblems(@NotNull VirtualFile sourceFile) {
+        return problems.getOrDefault(sourceFile, Collections.emptyList());
+    }
+
+    /**
+     * 检查保存的文件中的链接，以及指向它的链接（后台读操作）
+     */
+    private Result validate(VirtualFile file) {
+        Result result = new Result(file);
+        if (!file.isValid()) {
+            return result;
+        }
+        DocLinkResolver resolver = DocLinkResolver.getInstance(project);
+        PsiManager psiManager = PsiManager.getInstance(project);
+
+        // 1. 本文件中的链接：扫描注释并用 DocLinkParser 解析，路径批量解析
+        Document document = FileDocumentManager.getInstance().getDocument(file);
+        CommentTokenScanner scanner = document == null ? null : CommentTokenScanner.create(file.getFileType(), project, file);
+        if (scanner != null) {
+            CharSequence text = document.getImmutableCharSequence();
+            DocLinkConfig config = DocLinkConfigService.getConfig(project, file);
+            DocLinkMatchBuffer buffer = new DocLinkMatchBuffer();
+            List<DocLinkParser.DocLinkMatch> matches = new ArrayList<>();
+            scanner.scan(text, (start, end) -> {
+                ProgressManager.checkCanceled();
+                CharSequence comment = text.subSequence(start, end);
+                int count = DocLinkParser.parseDocLinks(comment, buffer, config);
+                for (int i = 0; i < count; i++) {
+                    DocLinkParser.DocLinkMatch match = buffer.toMatch(i, comment);
+                    matches.add(new DocLinkParser.DocLinkMatch(match.tagName, match.filePath, match.lineNumber, match.line,
+                        match.anchor, match.fingerprint, start + match.start, start + match.end));
+                }
+                return true;
+            });
+            Map<String, VirtualFile> resolved = resolver.resolveMatches(file, matches);
+            for (DocLinkParser.DocLinkMatch match : matches) {
+                String filePath = Utils.formatPath(match.filePath);
+                VirtualFile targetFile = resolved.get(filePath);
+                String message = targetFile == null ? DocLinkInspection.getUnresolvedMessage(filePath)
+                    : DocLinkInspection.checkTarget(psiManager, targetFile, filePath, match);
+                if (message != null) {
+                    result.own.add(createProblem(file, document, targetFile, match.start, match.end, message));
+                }
+            }
+        }
+
+        // 2. 其他文件中指向本文件的链接（保存可能修改了行数、标题或指纹行）
+        DocLinkIndex.processLinksTo(project, file, GlobalSearchScope.projectScope(project), link -> {
+            ProgressManager.checkCanceled();
+            if (link.sourceFile.equals(file)) {
+                return true;
+            }
+            List<Problem> sourceProblems = result.incoming.computeIfAbsent(link.sourceFile, key -> new ArrayList<>());
+            DocLinkIndex.Entry entry = link.entry;
+            DocLinkParser.DocLinkMatch match = new DocLinkParser.DocLinkMatch(null, entry.filePath,
+                entry.lineNumber > 0 ? String.valueOf(entry.lineNumber) : null, Math.max(1, entry.lineNumber),
+                entry.anchor, entry.fingerprint, entry.start, entry.end);
+            String message = DocLinkInspection.checkTarget(psiManager, file, entry.filePath, match);
+            if (message != null) {
+                Document sourceDocument = FileDocumentManager.getInstance().getDocument(link.sourceFile);
+                sourceProblems.add(createProblem(link.sourceFile, sourceDocument, file, entry.start, entry.end, message));
+            }
+            return true;
+        });
+        return result;
+    }
+
+    private static Problem createProblem(VirtualFile sourceFile, @Nullable Document document, @Nullable VirtualFile targetFile,
+                                         int start, int end, String message) {
+        boolean inRange = document != null && end <= document.getTextLength();
+        int line = inRange ? document.getLineNumber(start) + 1 : 1;
+        String link = inRange ? document.getImmutableCharSequence().subSequence(start, end).toString() : "";
+        return new Problem(sourceFile, targetFile, start, line, link, message);
+    }
+
+    /**
+     * 合并检查结果并通知工具窗口，只涉及结果发生变化的源文件（EDT）
+     */
+    private void publish(Result result) {
+        if (project.isDisposed()) {
+            return;
+        }
+        Set<VirtualFile> changed = new LinkedHashSet<>();
+        replace(result.file, result.own, changed);
+
+        // 去掉其他文件中指向本文件的旧结果，再加入新结果
+        for (Map.Entry<VirtualFile, List<Problem>> entry : new ArrayList<>(problems.entrySet())) {
+            if (entry.getKey().equals(result.file)) {
+                continue;
+            }
+            List<Problem> kept = new ArrayList<>();
+            for (Problem problem : entry.getValue()) {
+                if (!result.file.equals(problem.targetFile)) {
+                    kept.add(problem);
+                }
+            }
+            if (kept.size() != entry.getValue().size()) {
+                replace(entry.getKey(), kept, changed);
+            }
+        }
+        for (Map.Entry<VirtualFile, List<Problem>> entry : result.incoming.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                List<Problem> merged = new ArrayList<>(getProblems(entry.getKey()));
+                merged.addAll(entry.getValue());
+                merged.sort((a, b) -> Integer.compare(a.start, b.start));
+                replace(entry.getKey(), merged, changed);
+            }
+        }
+
+        ProblemsListener publisher = project.getMessageBus().syncPublisher(ProblemsListener.TOPIC);
+        for (VirtualFile file : changed) {
+            publisher.problemsChanged(file);
+        }
+    }
+
+    private void replace(VirtualFile file, List<Problem> fileProblems, Set<VirtualFile> changed) {
+        List<Problem> old = problems.get(file);
+        if (fileProblems.isEmpty() && old == null) {
+            return;
+        }
+        if (fileProblems.isEmpty()) {
+            problems.remove(file);
+        } else {
+            problems.put(file, Collections.unmodifiableList(new ArrayList<>(fileProblems)));
+        }
+        changed.add(file);
+    }
+
+    @Override
+    public void dispose() {
+        pending.clear();
+        problems.clear();
+    }
+}
@@ -0,0 +1,61 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.ide.actions.searcheverywhere.AbstractGotoSEContributor;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory;
+import com.intellij.ide.util.NavigationItemListCellRenderer;
+import com.intellij.ide.util.gotoByName.FilteringGotoByModel;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+
+/**
+ * Search Everywhere 中的 “Doc Links” 标签页，复用 DocLinkGotoModel
+ */
+public class DocLinkSearchEverywhereContributor extends AbstractGotoSEContributor {
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Doc Links",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "文档链接",
+    };*/
+
+    public DocLinkSearchEverywhereContributor(@NotNull AnActionEvent event) {
+        super(event);
+    }
+
+    @Override
+    public @NotNull String getGroupName() {
+        return SELECT_NAME[0];
+    }
+
+    @Override
+    public int getSortWeight() {
+        return 500;
+    }
+
+    @Override
+    public boolean isShownInSeparateTab() {
+        return true;
+    }
+
+    @Override
+    protected @NotNull FilteringGotoByModel<?> createModel(@NotNull Project project) {
+        return new DocLinkGotoModel(project);
+    }
+
+    @Override
+    public @NotNull ListCellRenderer<? super Object> getElementsRenderer() {
+        return new NavigationItemListCellRenderer();
+    }
+
+    public static class Factory implements SearchEverywhereContributorFactory<Object> {
+        @Override
+        public @NotNull SearchEverywhereContributor<Object> createContributor(@NotNull AnActionEvent initEvent) {
+            return new DocLinkSearchEverywhereContributor(initEvent);
+        }
+    }
+}
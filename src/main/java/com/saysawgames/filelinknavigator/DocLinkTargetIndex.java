@@ -0,0 +1,144 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按链接目标建立的持久化索引，供 “Go to Doc Link” 按名称搜索所有链接
+ * <p>
+ * 键：链接目标文本，如 docs/README.md:42、docs/README.md#intro，值：该源文件中这个链接出现的位置
+ * 与 DocLinkIndex 共用同一次注释扫描（见 DocLinkIndex.getEntries），输入时的每次按键只查询索引键，不扫描文件
+ * 同样只使用应用级配置，位置中记录标签名，查询时按源文件所在模块的配置过滤
+ */
+public class DocLinkTargetIndex extends FileBasedIndexExtension<String, List<DocLinkTargetIndex.Location>> {
+
+    public static final ID<String, List<Location>> NAME = ID.create("com.saysawgames.filelinknavigator.DocLinkTargetIndex");
+
+    /**
+     * 链接在源文件中的位置
+     */
+    public static class Location {
+        public final String tagName;    // 标签名（不含@和:）
+        public final int start;         // 链接在源文件中的起始偏移
+        public final int end;           // 链接在源文件中的结束偏移
+        public final int line;          // 链接所在行（从 0 开始）
+
+        public Location(String tagName, int start, int end, int line) {
+            this.tagName = tagName;
+            this.start = start;
+            this.end = end;
+            this.line = line;
+        }
+    }
+
+    @Override
+    public @NotNull ID<String, List<Location>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<Location>, FileContent> getIndexer() {
+        return inputData -> {
+            List<DocLinkIndex.Entry> entries = DocLinkIndex.getEntries(inputData);
+            if (entries.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, List<Location>> result = new HashMap<>();
+            CharSequence text = inputData.getContentAsText();
+            // 链接按偏移升序排列，行号可以接着上一个链接继续数
+            int line = 0;
+            int offset = 0;
+            for (DocLinkIndex.Entry entry : entries) {
+                for (; offset < entry.start; offset++) {
+                    if (text.charAt(offset) == '\n') {
+                        line++;
+                    }
+                }
+                result.computeIfAbsent(getTarget(entry), key -> new ArrayList<>())
+                    .add(new Location(entry.tagName, entry.start, entry.end, line));
+            }
+            return result;
+        };
+    }
+
+    /**
+     * 链接目标的显示文本：路径，加上行号（及指纹）或标题锚点
+     */
+    static String getTarget(DocLinkIndex.Entry entry) {
+        if (entry.anchor != null) {
+            return entry.filePath + "#" + entry.anchor;
+        }
+        if (entry.lineNumber <= 0) {
+            return entry.filePath;
+        }
+        String target = entry.filePath + ":" + entry.lineNumber;
+        return entry.fingerprint != null ? target + "~" + entry.fingerprint : target;
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<Location>> getValueExternalizer() {
+        return new DataExternalizer<>() {
+            @Override
+            public void save(@NotNull DataOutput out, List<Location> value) throws IOException {
+                DataInputOutputUtil.writeINT(out, value.size());
+                for (Location location : value) {
+                    IOUtil.writeUTF(out, location.tagName);
+                    DataInputOutputUtil.writeINT(out, location.start);
+                    DataInputOutputUtil.writeINT(out, location.end - location.start);
+                    DataInputOutputUtil.writeINT(out, location.line);
+                }
+            }
+
+            @Override
+            public List<Location> read(@NotNull DataInput in) throws IOException {
+                int size = DataInputOutputUtil.readINT(in);
+                List<Location> locations = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    String tagName = IOUtil.readUTF(in);
+                    int start = DataInputOutputUtil.readINT(in);
+                    int end = start + DataInputOutputUtil.readINT(in);
+                    locations.add(new Location(tagName, start, end, DataInputOutputUtil.readINT(in)));
+                }
+                return locations;
+            }
+        };
+    }
+
+    @Override
+    public int getVersion() {
+        return 4;
+    }
+
+    @Override
+    public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+        return file -> !file.isDirectory() && !file.getFileType().isBinary();
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.codeInsight.hint.HintManager;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.SelectionModel;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 编辑器右键菜单动作：列出所有链接到当前行（或选中行）的代码注释
+ * 文件级别的反查直接使用 Find Usages（见 DocLinkReferencesSearcher）
+ */
+public class FindDocLinkUsagesAction extends AnAction {
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Finding doc links",
+        "No doc links point to this line",
+        "Doc links to line ",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "正在查找文档链接",
+        "没有文档链接指向此行",
+        "链接到此行的注释：第 ",
+    };*/
+
+    /**
+     * 弹出列表中的一项
+     */
+    private static class UsageItem {
+        final VirtualFile sourceFile;
+        final int offset;
+        final String text;
+
+        UsageItem(VirtualFile sourceFile, int offset, String text) {
+            this.sourceFile = sourceFile;
+            this.offset = offset;
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        if (project == null || editor == null) {
+            return;
+        }
+        Document document = editor.getDocument();
+        VirtualFile targetFile = FileDocumentManager.getInstance().getFile(document);
+        if (targetFile == null) {
+            return;
+        }
+
+        SelectionModel selection = editor.getSelectionModel();
+        int startLine = document.getLineNumber(selection.getSelectionStart()) + 1;
+        int endLine = document.getLineNumber(selection.getSelectionEnd()) + 1;
+
+        // 可中断的读操作：遇到写操作时让出并重新开始，不会在整个查找期间阻塞写操作
+        List<UsageItem> items = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+            () -> ReadAction.nonBlocking(() -> collectUsages(project, targetFile, startLine, endLine))
+                .expireWhen(project::isDisposed)
+                .executeSynchronously(),
+            SELECT_NAME[0], true, project);
+        if (items == null) {
+            return;
+        }
+        if (items.isEmpty()) {
+            HintManager.getInstance().showInformationHint(editor, SELECT_NAME[1]);
+            return;
+        }
+
+        JBPopupFactory.getInstance()
+            .createPopupChooserBuilder(items)
+            .setTitle(SELECT_NAME[2] + startLine + (endLine != startLine ? "-" + endLine : ""))
+            .setItemChosenCallback(item -> new OpenFileDescriptor(project, item.sourceFile, item.offset).navigate(true))
+            .createPopup()
+            .showInBestPositionFor(editor);
+    }
+
+    private static List<UsageItem> collectUsages(Project project, VirtualFile targetFile, int startLine, int endLine) {
+        List<UsageItem> items = new ArrayList<>();
+        DocLinkReferencesSearcher.processReferences(project, targetFile, GlobalSearchScope.projectScope(project),
+            startLine, endLine, (PsiReference reference) -> {
+                VirtualFile sourceFile = reference.getElement().getContainingFile().getVirtualFile();
+                int offset = reference.getElement().getTextRange().getStartOffset() + reference.getRangeInElement().getStartOffset();
+                Document sourceDocument = FileDocumentManager.getInstance().getDocument(sourceFile);
+                int line = sourceDocument == null ? 0 : sourceDocument.getLineNumber(offset) + 1;
+                items.add(new UsageItem(sourceFile, offset,
+                    sourceFile.getName() + ":" + line + "  " + reference.getCanonicalText()));
+                return true;
+            });
+        return items;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        e.getPresentation().setEnabledAndVisible(project != null && editor != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -0,0 +1,16 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.ide.actions.GotoActionBase;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Navigate 菜单动作：打开 Search Everywhere 的 “Doc Links” 标签页，按链接目标搜索项目中的所有链接
+ */
+public class GotoDocLinkAction extends GotoActionBase {
+
+    @Override
+    protected void gotoActionPerformed(@NotNull AnActionEvent e) {
+        showInSearchEverywherePopup(DocLinkSearchEverywhereContributor.class.getSimpleName(), e, true, true);
+    }
+}
@@ -4,42 +4,72 @@ package com.saysawgames.filelinknavigator;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.fileChooser.FileChooser;
 import com.intellij.openapi.fileChooser.FileChooserDescriptor;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.text.CharArrayUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 右键菜单动作：插入文档链接
- * 允许用户选择文件和行号，自动插入格式化的链接
+ * 允许用户选择文件，再从弹出列表中选择标题或行（可输入文字过滤），自动插入格式化的链接
  */
 public class InsertDocLinkAction extends AnAction {
     private static final String[] SELECT_NAME = new String[]{
         "Select documentation file",
         "Choose the documentation file to link to",
-        "Enter line number",
-        "Line number",
-        "Line number must be ≥ 0",
-        "Invalid input",
-        "Invalid line number",
-        "Invalid input",
+        "Link to heading or line in ",
+        "Cannot read file",
+        "Reading ",
     };
     /*private static final String[] SELECT_NAME = new String[]{
         "选择文档文件",
         "选择待链接的文档文件",
-        "输入行号",
-        "行号",
-        "行号必须大于等于0",
-        "非法输入",
-        "非法行号",
-        "非法输入",
+        "链接到标题或行：",
+        "无法读取文件",
+        "正在读取 ",
     };*/
 
+    // 列表中最多显示的行数，更后面的行可以直接修改链接中的行号
+    private static final int MAX_LINES = 10000;
+    // 每行最多显示的字符数
+    private static final int MAX_LINE_LENGTH = 200;
+
+    /**
+     * 弹出列表中的一项：标题或行
+     */
+    private static final class TargetItem {
+        final int lineNumber;   // 行号（从 1 开始）
+        final String anchor;    // 标题锚点，行时为 null
+        final String text;      // 显示和过滤用的文本
+
+        TargetItem(int lineNumber, String anchor, String text) {
+            this.lineNumber = lineNumber;
+            this.anchor = anchor;
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
         Project project = e.getProject();
@@ -70,28 +100,16 @@ public class InsertDocLinkAction extends AnAction {
             return;
         }
 
-        // 询问行号
-        String lineNumberStr = Messages.showInputDialog(
-            project,
-            SELECT_NAME[2],
-            SELECT_NAME[3],
-            Messages.getQuestionIcon(),
-            "1",
-            null
-        );
-        if (lineNumberStr == null) {
+        // 在可取消的后台进度中读取标题和行，大文件建立行索引可能需要数秒，不在 EDT 上进行
+        List<TargetItem> items;
+        try {
+            items = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+                () -> collectItems(project, selectedFile), SELECT_NAME[4] + selectedFile.getName(), true, project);
+        } catch (IOException ex) {
+            Messages.showErrorDialog(project, ex.getMessage(), SELECT_NAME[3]);
             return;
         }
-
-        int lineNumber;
-        try {
-            lineNumber = Integer.parseInt(lineNumberStr.trim());
-            if (lineNumber < 1) {
-                Messages.showErrorDialog(project, SELECT_NAME[4], SELECT_NAME[5]);
-                return;
-            }
-        } catch (NumberFormatException ex) {
-            Messages.showErrorDialog(project, SELECT_NAME[6], SELECT_NAME[7]);
+        if (items == null) {
             return;
         }
 
@@ -104,30 +122,109 @@ public class InsertDocLinkAction extends AnAction {
         if (relativePath == null) {
             relativePath = selectedFile.getPath();
         }
+        String path = relativePath;
+
+        // 选择标题或行，输入时按文本模糊过滤
+        JBPopupFactory.getInstance()
+            .createPopupChooserBuilder(items)
+            .setTitle(SELECT_NAME[2] + selectedFile.getName())
+            .setNamerForFiltering(item -> item.text)
+            .setVisibleRowCount(20)
+            .setItemChosenCallback(item -> insertLink(project, editor, selectedFile, path, item))
+            .createPopup()
+            .showInBestPositionFor(editor);
+    }
+
+    /**
+     * 先列出文档的标题（来自大纲缓存），再列出各行（后台线程）
+     * 只读取需要的行：已加载的文档直接按行偏移取字符，大文件通过行索引读取（不持有读锁）
+     * 文档在可中断的读操作中读取，遇到写操作时让出读锁并重新开始；行内容指纹只在插入时为选中的行计算
+     */
+    private static List<TargetItem> collectItems(Project project, VirtualFile file) throws IOException {
+        if (LargeFileNavigator.isLargeFile(file)) {
+            List<TargetItem> items = new ArrayList<>();
+            List<String> lines = LargeFileNavigator.getIndex(file).readLines(1, MAX_LINES, file.getCharset());
+            for (int i = 0; i < lines.size(); i++) {
+                items.add(lineItem(i + 1, lines.get(i)));
+            }
+            return items;
+        }
+        return ReadAction.nonBlocking(() -> collectDocumentItems(project, file))
+            .expireWhen(project::isDisposed)
+            .executeSynchronously();
+    }
 
+    private static List<TargetItem> collectDocumentItems(Project project, VirtualFile file) {
+        List<TargetItem> items = new ArrayList<>();
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (psiFile != null) {
+            for (MarkdownOutline.Heading heading : MarkdownOutlineCache.getOutline(psiFile).getHeadings()) {
+                items.add(new TargetItem(heading.lineNumber, heading.anchor,
+                    "#".repeat(heading.level) + " " + heading.text));
+            }
+        }
+
+        Document document = FileDocumentManager.getInstance().getDocument(file);
+        if (document == null) {
+            return items;
+        }
+        CharSequence text = document.getCharsSequence();
+        int lineCount = Math.min(document.getLineCount(), MAX_LINES);
+        for (int line = 0; line < lineCount; line++) {
+            ProgressManager.checkCanceled();
+            int start = document.getLineStartOffset(line);
+            int end = Math.min(document.getLineEndOffset(line), start + MAX_LINE_LENGTH);
+            items.add(lineItem(line + 1, text.subSequence(start, end)));
+        }
+        return items;
+    }
+
+    private static TargetItem lineItem(int lineNumber, CharSequence line) {
+        CharSequence shown = line.length() > MAX_LINE_LENGTH ? line.subSequence(0, MAX_LINE_LENGTH) : line;
+        return new TargetItem(lineNumber, null, String.format("%5d  %s", lineNumber, shown));
+    }
+
+    /**
+     * 选中行的内容指纹，标题和大文件的行返回 null
+     */
+    private static String getFingerprint(VirtualFile file, TargetItem item) {
+        if (item.anchor != null || LargeFileNavigator.isLargeFile(file)) {
+            return null;
+        }
+        Document document = FileDocumentManager.getInstance().getDocument(file);
+        if (document == null || item.lineNumber > document.getLineCount()) {
+            return null;
+        }
+        return LineFingerprintCache.getFingerprint(document, item.lineNumber - 1);
+    }
+
+    private static void insertLink(Project project, Editor editor, VirtualFile file, String path, TargetItem item) {
         String prefix = "@doc";
-        if (Constant.getValidTags() != null && Constant.getValidTags().length > 0) {
-            prefix = Constant.getValidTags()[0];
+        // 使用当前文件所在模块生效的标签
+        String[] tags = DocLinkConfigService.getConfig(project, FileDocumentManager.getInstance().getFile(editor.getDocument())).getTags();
+        if (tags.length > 0) {
+            prefix = tags[0];
         }
 
-        // 构建链接文本
-        String linkText = String.format("//" + prefix + " %s:%d", relativePath, lineNumber);
+        // 构建链接文本：标题使用锚点，行使用行号，并附上行内容指纹，目标文件增删行后仍能找到这一行
+        String target = item.anchor != null ? path + "#" + item.anchor : path + ":" + item.lineNumber;
+        String fingerprint = getFingerprint(file, item);
+        if (fingerprint != null) {
+            target += "~" + fingerprint;
+        }
+        String linkText = "//" + prefix + " " + target;
 
         // 插入到编辑器
         Document document = editor.getDocument();
         int offset = editor.getCaretModel().getOffset();
 
         WriteCommandAction.runWriteCommandAction(project, () -> {
-            // 如果当前行不为空，先插入换行
-            int lineStartOffset = document.getLineStartOffset(
-                document.getLineNumber(offset)
-            );
-            String lineText = document.getText().substring(
-                lineStartOffset,
-                Math.min(lineStartOffset + 100, document.getTextLength())
-            ).trim();
-
-            if (!lineText.isEmpty()) {
+            // 如果当前行不为空，先插入换行；只检查当前行，不复制整个文档
+            int line = document.getLineNumber(offset);
+            boolean blank = CharArrayUtil.isEmptyOrSpaces(document.getCharsSequence(),
+                document.getLineStartOffset(line), document.getLineEndOffset(line));
+
+            if (!blank) {
                 document.insertString(offset, "\n" + linkText + "\n");
             } else {
                 document.insertString(offset, linkText + "\n");
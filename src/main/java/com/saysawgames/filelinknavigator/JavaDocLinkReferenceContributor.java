@@ -0,0 +1,28 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.patterns.PlatformPatterns;
+import com.intellij.psi.PsiReferenceContributor;
+import com.intellij.psi.PsiReferenceRegistrar;
+import com.intellij.psi.javadoc.PsiDocTag;
+import com.intellij.psi.javadoc.PsiDocToken;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Javadoc 内部元素的链接引用
+ * 依赖 Java 插件，只在 java-support.xml 中注册；没有安装 Java 插件的 IDE 中不会加载
+ */
+public class JavaDocLinkReferenceContributor extends PsiReferenceContributor {
+
+    @Override
+    public void registerReferenceProviders(@NotNull PsiReferenceRegistrar registrar) {
+        registrar.registerReferenceProvider(
+            PlatformPatterns.or(
+                // 1. Javadoc 中的普通文本 (处理 "see @doc:...")
+                PlatformPatterns.psiElement(PsiDocToken.class),
+                // 2. Javadoc 标签 (处理行首的 "@doc:...")
+                PlatformPatterns.psiElement(PsiDocTag.class)
+            ),
+            DocLinkReferenceContributor.PROVIDER
+        );
+    }
+}
@@ -0,0 +1,170 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.progress.ProgressManager;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 大文件的行偏移索引（如数百 MB 的日志、转储、CSV）
+ * <p>
+ * 按固定大小的分块内存映射文件，扫描一遍换行符，只记录每 SAMPLE_INTERVAL 行的起始偏移，
+ * 索引大小与文件大小成比例但很小（一亿行约 800KB）；定位第 N 行时从最近的采样点向后扫描，
+ * 读取时只映射目标行所在的分块，不会把整个文件读入内存
+ * <p>
+ * 只适用于换行符为单字节 '\n' 的编码（UTF-8、单字节编码），见 isSupported
+ */
+public final class LargeFileLineIndex {
+
+    // 每隔多少行记录一次起始偏移
+    private static final int SAMPLE_INTERVAL = 1024;
+    // 每次映射的分块大小
+    private static final long CHUNK_SIZE = 64L * 1024 * 1024;
+    // 读取时单行最多解码的字节数，超长的行会被截断
+    private static final int MAX_LINE_BYTES = 16 * 1024;
+
+    private final Path path;
+    private final long size;
+    private final long[] samples;   // samples[i] 为第 i * SAMPLE_INTERVAL 行（从 0 开始）的起始偏移
+    private final int lineCount;
+
+    private LargeFileLineIndex(Path path, long size, long[] samples, int lineCount) {
+        this.path = path;
+        this.size = size;
+        this.samples = samples;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * 换行符是单字节 '\n' 的编码才能直接在字节上查找行
+     */
+    public static boolean isSupported(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) || charset.newEncoder().maxBytesPerChar() == 1;
+    }
+
+    /**
+     * 扫描文件建立索引，每个分块检查一次取消（ProgressManager），只应在后台任务中调用
+     */
+    public static LargeFileLineIndex build(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] samples = new long[16];
+            int sampleCount = 1;
+            int lineCount = 1;
+            for (long chunkStart = 0; chunkStart < size; chunkStart += CHUNK_SIZE) {
+                ProgressManager.checkCanceled();
+                int length = (int) Math.min(CHUNK_SIZE, size - chunkStart);
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, length);
+                for (int i = 0; i < length; i++) {
+                    if (bytes.get(i) != '\n') {
+                        continue;
+                    }
+                    // 换行符之后是新的一行
+                    if (lineCount % SAMPLE_INTERVAL == 0) {
+                        if (sampleCount == samples.length) {
+                            samples = Arrays.copyOf(samples, sampleCount * 2);
+                        }
+                        samples[sampleCount++] = chunkStart + i + 1;
+                    }
+                    lineCount++;
+                }
+            }
+            return new LargeFileLineIndex(path, size, Arrays.copyOf(samples, sampleCount), lineCount);
+        }
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 行数（至少为 1，与 Document 的行数一致：以换行结尾的文件最后有一个空行）
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * 读取从 firstLine 开始的最多 count 行，不含换行符
+     *
+     * @param firstLine 起始行号（从 1 开始）
+     */
+    public List<String> readLines(int firstLine, int count, Charset charset) throws IOException {
+        List<String> lines = new ArrayList<>();
+        int line = Math.max(1, firstLine) - 1;
+        if (line >= lineCount || count <= 0) {
+            return lines;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Cursor cursor = new Cursor(channel, size);
+            // 从最近的采样点向后跳过多余的行
+            long offset = samples[line / SAMPLE_INTERVAL];
+            for (int skip = line % SAMPLE_INTERVAL; skip > 0; skip--) {
+                offset = cursor.nextLineStart(offset);
+            }
+            for (int i = 0; i < count && line + i < lineCount; i++) {
+                long next = cursor.nextLineStart(offset);
+                long end = next > offset && next <= size && cursor.get(next - 1) == '\n' ? next - 1 : next;
+                if (end > offset && cursor.get(end - 1) == '\r') {
+                    end--;
+                }
+                lines.add(cursor.decode(offset, Math.min(end, offset + MAX_LINE_BYTES), charset));
+                offset = next;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * 在按需映射的分块上顺序读取字节
+     */
+    private static final class Cursor {
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer chunk;
+        private long chunkStart = -1;
+        private long chunkEnd = -1;
+
+        Cursor(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        byte get(long offset) throws IOException {
+            if (offset < chunkStart || offset >= chunkEnd) {
+                chunkStart = offset;
+                chunkEnd = Math.min(size, offset + CHUNK_SIZE);
+                chunk = channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkEnd - chunkStart);
+            }
+            return chunk.get((int) (offset - chunkStart));
+        }
+
+        /**
+         * 下一行的起始偏移；已经是最后一行时返回文件大小
+         */
+        long nextLineStart(long offset) throws IOException {
+            for (long pos = offset; pos < size; pos++) {
+                if (get(pos) == '\n') {
+                    return pos + 1;
+                }
+            }
+            return size;
+        }
+
+        String decode(long start, long end, Charset charset) throws IOException {
+            byte[] bytes = new byte[(int) (end - start)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = get(start + i);
+            }
+            return new String(bytes, charset);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.LightVirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 大文件的导航：不通过 OpenFileDescriptor 打开整个文件，
+ * 而是用 LargeFileLineIndex 找到目标行，只把附近的若干行放到一个只读的轻量文件中打开
+ * <p>
+ * 行索引挂在 VirtualFile 上，文件修改后重建；行数检查（LineCountCache）和悬停预览（SnippetCache）也共用它，
+ * 但它们运行在高亮、悬停线程上，不能当场扫描整个文件，只通过 getIndexOrSchedule 取已建好的索引，没有时安排在后台建立
+ */
+public class LargeFileNavigator {
+
+    private static final String[] SELECT_NAME = new String[]{
+        "Indexing lines of ",
+        "Cannot open ",
+        " [lines %d-%d, read-only]",
+    };
+    /*private static final String[] SELECT_NAME = new String[]{
+        "正在建立行索引：",
+        "无法打开 ",
+        " [第 %d-%d 行，只读]",
+    };*/
+
+    // 超过此大小的本地文件按大文件处理
+    public static final long LARGE_FILE_SIZE = 16L * 1024 * 1024;
+    // 目标行前后各显示的行数
+    private static final int WINDOW_LINES = 500;
+
+    private static final Key<CachedIndex> INDEX_KEY = Key.create("DocLink.LargeFileLineIndex");
+
+    // 后台建立行索引的执行器，同一时间只扫描一个文件
+    private static final ExecutorService INDEX_EXECUTOR =
+        AppExecutorUtil.createBoundedApplicationPoolExecutor("DocLink Large File Index", 1);
+    // 已安排在后台建立索引的文件
+    private static final Set<VirtualFile> SCHEDULED = ConcurrentHashMap.newKeySet();
+
+    private static final class CachedIndex {
+        final long stamp;
+        final LargeFileLineIndex index;
+
+        CachedIndex(long stamp, LargeFileLineIndex index) {
+            this.stamp = stamp;
+            this.index = index;
+        }
+    }
+
+    /**
+     * 是否为需要按大文件处理的目标：本地文件、超过 LARGE_FILE_SIZE、编码支持按字节查找换行、没有已加载的文档
+     */
+    public static boolean isLargeFile(@NotNull VirtualFile file) {
+        return file.getLength() > LARGE_FILE_SIZE && canIndex(file)
+            && FileDocumentManager.getInstance().getCachedDocument(file) == null;
+    }
+
+    /**
+     * 文件能否建立行索引
+     */
+    public static boolean canIndex(@NotNull VirtualFile file) {
+        return file.isInLocalFileSystem() && !file.isDirectory() && LargeFileLineIndex.isSupported(file.getCharset());
+    }
+
+    /**
+     * 获取文件的行索引，没有或文件已修改时扫描整个文件重建
+     * 扫描可能需要数秒，只能在可取消的后台任务中调用
+     */
+    public static @NotNull LargeFileLineIndex getIndex(@NotNull VirtualFile file) throws IOException {
+        LargeFileLineIndex index = getCachedIndex(file);
+        if (index != null) {
+            return index;
+        }
+        long stamp = file.getModificationStamp();
+        index = LargeFileLineIndex.build(file.toNioPath());
+        file.putUserData(INDEX_KEY, new CachedIndex(stamp, index));
+        return index;
+    }
+
+    /**
+     * 已建好且仍然有效的行索引，没有时返回 null，不扫描文件
+     */
+    public static @Nullable LargeFileLineIndex getCachedIndex(@NotNull VirtualFile file) {
+        CachedIndex cached = file.getUserData(INDEX_KEY);
+        if (cached != null && cached.stamp == file.getModificationStamp() && cached.index.getSize() == file.getLength()) {
+            return cached.index;
+        }
+        return null;
+    }
+
+    /**
+     * 供不能阻塞的调用方（检查、高亮、悬停）使用：返回已建好的行索引；
+     * 没有时安排在后台建立并返回 null（行数未知），建好后重新运行高亮
+     */
+    public static @Nullable LargeFileLineIndex getIndexOrSchedule(@NotNull VirtualFile file) {
+        LargeFileLineIndex index = getCachedIndex(file);
+        if (index == null && SCHEDULED.add(file)) {
+            INDEX_EXECUTOR.execute(() -> {
+                try {
+                    getIndex(file);
+                    ApplicationManager.getApplication().invokeLater(() -> {
+                        for (Project project : ProjectManager.getInstance().getOpenProjects()) {
+                            DaemonCodeAnalyzer.getInstance(project).restart();
+                        }
+                    });
+                } catch (IOException e) {
+                    // 读取失败时行数保持未知
+                } finally {
+                    SCHEDULED.remove(file);
+                }
+            });
+        }
+        return index;
+    }
+
+    /**
+     * 在后台建立索引并读取目标行附近的内容，然后在只读的轻量文件中打开并定位到目标行
+     *
+     * @param lineNumber 目标行号（从 1 开始）
+     */
+    public static void navigate(@NotNull Project project, @NotNull VirtualFile file, int lineNumber, boolean requestFocus) {
+        new Task.Backgroundable(project, SELECT_NAME[0] + file.getName(), true) {
+            private int targetLine;
+            private int firstLine;
+            private String text;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                try {
+                    LargeFileLineIndex index = getIndex(file);
+                    targetLine = Math.min(Math.max(1, lineNumber), index.getLineCount());
+                    firstLine = Math.max(1, targetLine - WINDOW_LINES);
+                    List<String> lines = index.readLines(firstLine, targetLine - firstLine + WINDOW_LINES + 1, file.getCharset());
+                    text = String.join("\n", lines);
+                } catch (IOException e) {
+                    ApplicationManager.getApplication().invokeLater(() ->
+                        Messages.showErrorDialog(project, e.getMessage(), SELECT_NAME[1] + file.getName()));
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                if (text == null || project.isDisposed()) {
+                    return;
+                }
+                int lastLine = firstLine + (int) text.chars().filter(c -> c == '\n').count();
+                LightVirtualFile region = new LightVirtualFile(
+                    file.getName() + String.format(SELECT_NAME[2], firstLine, lastLine), file.getFileType(), text);
+                region.setWritable(false);
+                new OpenFileDescriptor(project, region, targetLine - firstLine, 0).navigate(requestFocus);
+            }
+        }.queue();
+    }
+}
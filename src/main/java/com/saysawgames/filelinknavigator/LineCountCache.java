@@ -0,0 +1,66 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 目标文件的行数缓存
+ * 已打开的文档直接读取 Document 的行数；其余文件只在修改时间戳变化后重新计算一次，
+ * 批量检查时指向同一个文件的所有链接共用同一份结果
+ * 大文件使用 LargeFileNavigator 的行索引计数，不把文件内容加载为字符串；索引只在后台建立，建好之前行数未知
+ */
+public class LineCountCache {
+
+    private static final Key<LineCount> LINE_COUNT_KEY = Key.create("DocLink.LineCount");
+
+    private static final class LineCount {
+        final long stamp;
+        final int count;
+
+        LineCount(long stamp, int count) {
+            this.stamp = stamp;
+            this.count = count;
+        }
+    }
+
+    /**
+     * 获取文件行数（至少为 1），读取失败或大文件的行索引还没建好时返回 -1
+     */
+    public static int getLineCount(@NotNull VirtualFile file) {
+        // 已加载的文档可能有未保存的修改，以文档为准
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        if (document != null) {
+            return Math.max(1, document.getLineCount());
+        }
+
+        long stamp = file.getModificationStamp();
+        LineCount cached = file.getUserData(LINE_COUNT_KEY);
+        if (cached != null && cached.stamp == stamp) {
+            return cached.count;
+        }
+
+        if (file.getLength() > LargeFileNavigator.LARGE_FILE_SIZE && LargeFileNavigator.canIndex(file)) {
+            // 行索引只在后台建立，还没建好时行数未知
+            LargeFileLineIndex index = LargeFileNavigator.getIndexOrSchedule(file);
+            return index != null ? index.getLineCount() : -1;
+        }
+
+        int count;
+        try {
+            count = StringUtil.countNewLines(LoadTextUtil.loadText(file)) + 1;
+        } catch (ProcessCanceledException e) {
+            // 取消必须传递给检查、高亮的调用方
+            throw e;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+        file.putUserData(LINE_COUNT_KEY, new LineCount(stamp, count));
+        return count;
+    }
+}
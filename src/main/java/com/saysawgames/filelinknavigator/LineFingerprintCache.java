@@ -0,0 +1,114 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 带内容指纹的链接（notes.md:42~a1b2c3）的行号重新定位
+ * <p>
+ * 先检查链接中的原行号，内容不匹配时才用 LineFingerprint 扫描整个目标文档；
+ * 扫描结果按（目标文件, 文档或文件的修改时间戳）缓存，挂在 VirtualFile 上，修改后整体失效，
+ * 悬停、Ctrl+点击、检查、查找引用指向同一行的链接共用同一份结果
+ * <p>
+ * 检查和保存时的后台检查不会为目标文件创建 Document：只使用已加载的文档，否则直接读取文件文本（同 LineCountCache）；
+ * 大文件（见 LargeFileNavigator）不读取内容，直接使用原行号
+ */
+public class LineFingerprintCache {
+
+    private static final Key<Relocations> RELOCATIONS_KEY = Key.create("DocLink.LineFingerprint");
+
+    private static final class Relocations {
+        final long stamp;
+        final boolean fromDocument;     // stamp 是文档的修改时间戳（true）还是文件的（false）
+        final Map<String, Integer> lines = new ConcurrentHashMap<>();    // "行号~指纹" → 定位到的行号，找不到时为 -1
+
+        Relocations(long stamp, boolean fromDocument) {
+            this.stamp = stamp;
+            this.fromDocument = fromDocument;
+        }
+    }
+
+    /**
+     * 计算带指纹的链接当前指向的行
+     * 已加载的文档直接使用（可能有未保存的修改）；没有加载的文件不创建 Document，
+     * 缓存未命中时用 LoadTextUtil 读取一次文本，结果按文件修改时间戳缓存
+     *
+     * @param lineNumber  链接中的行号（从 1 开始）
+     * @param fingerprint 链接中的指纹，为 null 时直接返回 lineNumber
+     * @return 行号（从 1 开始），目标文档中已经找不到这一行时返回 -1
+     */
+    public static int locate(@NotNull VirtualFile file, int lineNumber, @Nullable String fingerprint) {
+        if (fingerprint == null || file.isDirectory() || LargeFileNavigator.isLargeFile(file)) {
+            return lineNumber;
+        }
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        if (document == null) {
+            return locateInFile(file, lineNumber, fingerprint);
+        }
+
+        // 1. 原行号的内容没有变化
+        CharSequence text = document.getImmutableCharSequence();
+        if (lineNumber >= 1 && lineNumber <= document.getLineCount()) {
+            int line = lineNumber - 1;
+            if (LineFingerprint.matches(text, document.getLineStartOffset(line), document.getLineEndOffset(line), fingerprint)) {
+                return lineNumber;
+            }
+        }
+
+        // 2. 扫描整个文档，结果按修改时间戳缓存
+        return getRelocations(file, document.getModificationStamp(), true).lines.computeIfAbsent(
+            lineNumber + "~" + fingerprint, key -> LineFingerprint.locate(text, lineNumber, fingerprint));
+    }
+
+    /**
+     * 没有加载文档的文件：先查缓存，未命中时读取文本扫描（原行号匹配时扫描到该行即停止）
+     */
+    private static int locateInFile(VirtualFile file, int lineNumber, String fingerprint) {
+        Relocations relocations = getRelocations(file, file.getModificationStamp(), false);
+        String key = lineNumber + "~" + fingerprint;
+        Integer cached = relocations.lines.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        CharSequence text;
+        try {
+            text = LoadTextUtil.loadText(file);
+        } catch (ProcessCanceledException e) {
+            // 取消必须传递给检查、高亮的调用方
+            throw e;
+        } catch (RuntimeException e) {
+            return lineNumber;
+        }
+        int line = LineFingerprint.locate(text, lineNumber, fingerprint);
+        relocations.lines.put(key, line);
+        return line;
+    }
+
+    private static Relocations getRelocations(VirtualFile file, long stamp, boolean fromDocument) {
+        Relocations relocations = file.getUserData(RELOCATIONS_KEY);
+        if (relocations == null || relocations.stamp != stamp || relocations.fromDocument != fromDocument) {
+            relocations = new Relocations(stamp, fromDocument);
+            file.putUserData(RELOCATIONS_KEY, relocations);
+        }
+        return relocations;
+    }
+
+    /**
+     * 计算选中行的指纹，用于插入链接
+     *
+     * @param line 行号（从 0 开始）
+     */
+    public static @NotNull String getFingerprint(@NotNull Document document, int line) {
+        return LineFingerprint.of(document.getImmutableCharSequence(),
+            document.getLineStartOffset(line), document.getLineEndOffset(line));
+    }
+}
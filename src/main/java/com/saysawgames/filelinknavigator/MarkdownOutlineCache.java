@@ -0,0 +1,55 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 目标文档的大纲缓存
+ * 每个文档只扫描一次，缓存挂在目标 PsiFile 上，只有该文档本身修改后才失效，
+ * 悬停、Ctrl+点击、高亮都直接读取缓存
+ * <p>
+ * 大文件（见 LargeFileNavigator）不读取内容、不建立大纲，标题锚点一律按找不到处理（跳到第 1 行）
+ */
+public class MarkdownOutlineCache {
+
+    private static final Key<CachedValue<MarkdownOutline>> OUTLINE_KEY = Key.create("DocLink.MarkdownOutline");
+
+    public static MarkdownOutline getOutline(@NotNull PsiFile file) {
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile != null && LargeFileNavigator.isLargeFile(virtualFile)) {
+            return MarkdownOutline.EMPTY;
+        }
+        return CachedValuesManager.getCachedValue(file, OUTLINE_KEY, () -> CachedValueProvider.Result.create(
+            MarkdownOutline.scan(file.getViewProvider().getContents()),
+            file
+        ));
+    }
+
+    /**
+     * 计算链接最终跳转的行号
+     * 有锚点时按大纲查找标题所在行，找不到标题时跳到文件开头
+     *
+     * @return 行号（从 1 开始）
+     */
+    public static int resolveLineNumber(@NotNull PsiFile file, String anchor, int lineNumber) {
+        return resolveLineNumber(file, anchor, lineNumber, null);
+    }
+
+    /**
+     * 同上，行号带内容指纹时按指纹重新定位（见 LineFingerprintCache），找不到时使用原行号
+     */
+    public static int resolveLineNumber(@NotNull PsiFile file, String anchor, int lineNumber, String fingerprint) {
+        if (anchor == null) {
+            VirtualFile virtualFile = fingerprint == null ? null : file.getVirtualFile();
+            int line = virtualFile == null ? lineNumber : LineFingerprintCache.locate(virtualFile, lineNumber, fingerprint);
+            return line > 0 ? line : lineNumber;
+        }
+        int line = getOutline(file).findLine(anchor);
+        return line > 0 ? line : 1;
+    }
+}
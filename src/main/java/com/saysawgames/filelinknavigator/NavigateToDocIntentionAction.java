@@ -7,15 +7,12 @@ import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.fileEditor.OpenFileDescriptor;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
 import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.NotNull;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
 /**
  * 点击链接时执行的导航动作
  */
@@ -34,17 +31,29 @@ public class NavigateToDocIntentionAction implements IntentionAction, PriorityAc
 
     private final String filePath;
     private final int lineNumber;
+    private final String anchor;
+    private final String fingerprint;
 
     public NavigateToDocIntentionAction(String filePath, int lineNumber) {
+        this(filePath, lineNumber, null);
+    }
+
+    public NavigateToDocIntentionAction(String filePath, int lineNumber, String anchor) {
+        this(filePath, lineNumber, anchor, null);
+    }
+
+    public NavigateToDocIntentionAction(String filePath, int lineNumber, String anchor, String fingerprint) {
         // 移除路径中的双引号（处理Javadoc注释中的引号）
         this.filePath = Utils.formatPath(filePath);
         this.lineNumber = lineNumber;
+        this.anchor = anchor;
+        this.fingerprint = fingerprint;
     }
 
     @NotNull
     @Override
     public String getText() {
-        return SELECT_NAME[0] + filePath + ":" + lineNumber;
+        return SELECT_NAME[0] + filePath + (anchor != null ? "#" + anchor : ":" + lineNumber);
     }
 
     @NotNull
@@ -61,7 +70,8 @@ public class NavigateToDocIntentionAction implements IntentionAction, PriorityAc
     @Override
     public void invoke(@NotNull Project project, Editor editor, PsiFile file)
         throws IncorrectOperationException {
-        VirtualFile targetFile = findFile(project, file, filePath);
+        VirtualFile sourceFile = file.getOriginalFile().getVirtualFile();
+        VirtualFile targetFile = sourceFile == null ? null : DocLinkResolver.getInstance(project).resolve(sourceFile, filePath);
 
         if (targetFile == null) {
             // 文件未找到，显示通知
@@ -77,47 +87,31 @@ public class NavigateToDocIntentionAction implements IntentionAction, PriorityAc
             return;
         }
 
+        // 大文件只读取目标行附近的内容，不加载整个文件（不支持标题锚点）
+        if (LargeFileNavigator.isLargeFile(targetFile)) {
+            LargeFileNavigator.navigate(project, targetFile, anchor != null ? 1 : lineNumber, true);
+            return;
+        }
+
+        // 有标题锚点时，从目标文档的大纲缓存中取标题所在行；有指纹时按内容重新定位
+        int targetLine = lineNumber;
+        if (anchor != null || fingerprint != null) {
+            PsiFile targetPsiFile = PsiManager.getInstance(project).findFile(targetFile);
+            targetLine = targetPsiFile == null ? (anchor != null ? 1 : lineNumber)
+                : MarkdownOutlineCache.resolveLineNumber(targetPsiFile, anchor, lineNumber, fingerprint);
+        }
+
         // 打开文件并跳转到指定行（行号从0开始，所以要减1）
         OpenFileDescriptor descriptor = new OpenFileDescriptor(
             project,
             targetFile,
-            Math.max(0, lineNumber - 1),
+            Math.max(0, targetLine - 1),
             0
         );
 
         FileEditorManager.getInstance(project).openTextEditor(descriptor, true);
     }
 
-    /**
-     * 查找目标文件
-     * 支持：相对于当前文件的路径、相对于项目根目录的路径
-     */
-    private VirtualFile findFile(Project project, PsiFile currentFile, String path) {
-        // 1. 尝试相对于当前文件的路径
-        VirtualFile currentDir = currentFile.getVirtualFile().getParent();
-        VirtualFile relativeFile = currentDir.findFileByRelativePath(path);
-        if (relativeFile != null && relativeFile.exists()) {
-            return relativeFile;
-        }
-
-        // 2. 尝试相对于项目根目录的路径
-        VirtualFile projectBase = project.getBaseDir();
-        if (projectBase != null) {
-            VirtualFile projectFile = projectBase.findFileByRelativePath(path);
-            if (projectFile != null && projectFile.exists()) {
-                return projectFile;
-            }
-        }
-
-        // 3. 尝试绝对路径
-        Path absolutePath = Paths.get(path);
-        if (absolutePath.isAbsolute()) {
-            return LocalFileSystem.getInstance().findFileByPath(path);
-        }
-
-        return null;
-    }
-
     @Override
     public boolean startInWriteAction() {
         return false;
@@ -0,0 +1,161 @@
+package com.saysawgames.filelinknavigator;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 悬停预览用的目标文件片段缓存
+ * 按（文件，修改时间戳，行号）缓存最近使用的片段，容量固定，超出后淘汰最久未使用的
+ * <p>
+ * 读取片段时不会加载整个文档：已打开的文档直接从 Document 中取行；
+ * 大文件通过 LargeFileNavigator 的行索引（内存映射）只解码目标行附近的字节，索引只在后台建立，不在悬停线程上扫描文件；
+ * 其余文件按行流式读取，读到目标行后即停止
+ */
+public class SnippetCache {
+
+    // 目标行之前、之后显示的行数
+    public static final int LINES_BEFORE = 2;
+    public static final int LINES_AFTER = 8;
+
+    private static final int MAX_ENTRIES = 64;
+    // 超过此大小的本地文件优先使用行索引（内存映射）读取
+    private static final long LARGE_FILE_SIZE = 1024 * 1024;
+
+    private static final Map<Key, Snippet> CACHE = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Snippet> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * 文件片段
+     */
+    public static final class Snippet {
+        public final int firstLine;         // 第一行的行号（从 1 开始）
+        public final List<String> lines;    // 片段内容，不含换行符
+
+        Snippet(int firstLine, List<String> lines) {
+            this.firstLine = firstLine;
+            this.lines = lines;
+        }
+    }
+
+    private static final class Key {
+        final VirtualFile file;
+        final long stamp;
+        final int line;
+
+        Key(VirtualFile file, long stamp, int line) {
+            this.file = file;
+            this.stamp = stamp;
+            this.line = line;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return stamp == other.stamp && line == other.line && file.equals(other.file);
+        }
+
+        @Override
+        public int hashCode() {
+            return (file.hashCode() * 31 + Long.hashCode(stamp)) * 31 + line;
+        }
+    }
+
+    /**
+     * 获取目标行附近的片段，读取失败时返回 null
+     *
+     * @param line 目标行号（从 1 开始）
+     */
+    public static @Nullable Snippet getSnippet(@NotNull VirtualFile file, int line) {
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        long stamp = document != null ? document.getModificationStamp() : file.getModificationStamp();
+        Key key = new Key(file, stamp, line);
+        DocLinkMetrics.SNIPPET_CACHE.request();
+        synchronized (CACHE) {
+            Snippet cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DocLinkMetrics.SNIPPET_CACHE.miss();
+
+        int firstLine = Math.max(1, line - LINES_BEFORE);
+        int lastLine = Math.max(line, 1) + LINES_AFTER;
+        List<String> lines;
+        try {
+            if (document != null) {
+                lines = readLines(document, firstLine, lastLine);
+            } else if (file.getLength() > LARGE_FILE_SIZE && LargeFileNavigator.canIndex(file)) {
+                // 行索引只在后台建立：超大文件在建好之前不显示预览，较小的文件先流式读取
+                boolean huge = file.getLength() > LargeFileNavigator.LARGE_FILE_SIZE;
+                LargeFileLineIndex index = huge
+                    ? LargeFileNavigator.getIndexOrSchedule(file) : LargeFileNavigator.getCachedIndex(file);
+                if (index != null) {
+                    lines = index.readLines(firstLine, lastLine - firstLine + 1, file.getCharset());
+                } else if (huge) {
+                    return null;
+                } else {
+                    lines = readStreamLines(file, firstLine, lastLine);
+                }
+            } else {
+                lines = readStreamLines(file, firstLine, lastLine);
+            }
+        } catch (ProcessCanceledException e) {
+            // 取消必须传递给悬停预览的调用方
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+
+        Snippet snippet = new Snippet(firstLine, lines);
+        synchronized (CACHE) {
+            CACHE.put(key, snippet);
+        }
+        return snippet;
+    }
+
+    private static List<String> readLines(Document document, int firstLine, int lastLine) {
+        List<String> lines = new ArrayList<>();
+        CharSequence text = document.getImmutableCharSequence();
+        int lineCount = document.getLineCount();
+        for (int line = firstLine; line <= lastLine && line <= lineCount; line++) {
+            int start = document.getLineStartOffset(line - 1);
+            int end = document.getLineEndOffset(line - 1);
+            lines.add(text.subSequence(start, end).toString());
+        }
+        return lines;
+    }
+
+    private static List<String> readStreamLines(VirtualFile file, int firstLine, int lastLine) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), file.getCharset()))) {
+            int line = 1;
+            String text;
+            while (line <= lastLine && (text = reader.readLine()) != null) {
+                if (line >= firstLine) {
+                    lines.add(text);
+                }
+                line++;
+            }
+        }
+        return lines;
+    }
+}
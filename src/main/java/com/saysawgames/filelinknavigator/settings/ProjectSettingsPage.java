@@ -0,0 +1,277 @@
+package com.saysawgames.filelinknavigator.settings;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.ui.ToolbarDecorator;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.FormBuilder;
+import com.intellij.util.ui.ListTableModel;
+import com.saysawgames.filelinknavigator.DocLinkConfigService;
+import com.saysawgames.filelinknavigator.DocLinkIndexConfig;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.TableCellEditor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 项目级设置页面：项目默认设置 + 按模块覆盖的设置
+ * 留空的字段沿用上一级设置
+ */
+public class ProjectSettingsPage implements Configurable {
+
+    private static final String[] LABEL_NAMES = new String[]{
+        "Leave a field empty to use the application settings; module settings override project settings",
+        "Tag names (e.g., @design,@spec):",
+        "Delimiters between filename and line number (e.g., :,#):",
+        "Line-number prefixes (e.g., L):",
+        "Doc roots, relative to the project (e.g., docs,design):",
+        "Module overrides:",
+        "Module",
+        "Tag names",
+        "Delimiters",
+        "Line prefixes",
+        "Doc roots",
+    };
+    /*private static final String[] LABEL_NAMES = new String[]{
+        "留空的字段使用应用级设置；模块设置优先于项目设置",
+        "标签名（如：@design,@spec）：",
+        "文件名与行号之间的分隔符（如：:,#）：",
+        "文件行号前缀（如：L）：",
+        "文档根目录，相对于项目根目录（如：docs,design）：",
+        "按模块覆盖：",
+        "模块",
+        "标签名",
+        "分隔符",
+        "行号前缀",
+        "文档根目录",
+    };*/
+
+    private final Project project;
+    private JBTextField tagNamesField;
+    private JBTextField separatorsField;
+    private JBTextField linePrefixesField;
+    private JBTextField docRootsField;
+    private ListTableModel<ProjectSettingsState.ModuleSettings> modulesModel;
+
+    public ProjectSettingsPage(Project project) {
+        this.project = project;
+    }
+
+    @Nls(capitalization = Nls.Capitalization.Title)
+    @Override
+    public String getDisplayName() {
+        return "Project";
+    }
+
+    @Nullable
+    @Override
+    public JComponent createComponent() {
+        tagNamesField = new JBTextField();
+        separatorsField = new JBTextField();
+        linePrefixesField = new JBTextField();
+        docRootsField = new JBTextField();
+
+        modulesModel = new ListTableModel<>(
+            new ModuleColumn(),
+            new TextColumn(LABEL_NAMES[7], settings -> settings.tagNames, (settings, value) -> settings.tagNames = value),
+            new TextColumn(LABEL_NAMES[8], settings -> settings.separators, (settings, value) -> settings.separators = value),
+            new TextColumn(LABEL_NAMES[9], settings -> settings.linePrefixes, (settings, value) -> settings.linePrefixes = value),
+            new TextColumn(LABEL_NAMES[10], settings -> settings.docRoots, (settings, value) -> settings.docRoots = value)
+        );
+        TableView<ProjectSettingsState.ModuleSettings> table = new TableView<>(modulesModel);
+        JPanel modulesPanel = ToolbarDecorator.createDecorator(table)
+            .setAddAction(button -> {
+                ProjectSettingsState.ModuleSettings settings = new ProjectSettingsState.ModuleSettings();
+                settings.moduleName = getUnconfiguredModule();
+                modulesModel.addRow(settings);
+            })
+            .disableUpDownActions()
+            .createPanel();
+
+        reset();
+        return FormBuilder.createFormBuilder()
+            .addComponent(new JBLabel(LABEL_NAMES[0]))
+            .addLabeledComponent(new JBLabel(LABEL_NAMES[1]), tagNamesField, 1, false)
+            .addLabeledComponent(new JBLabel(LABEL_NAMES[2]), separatorsField, 1, false)
+            .addLabeledComponent(new JBLabel(LABEL_NAMES[3]), linePrefixesField, 1, false)
+            .addLabeledComponent(new JBLabel(LABEL_NAMES[4]), docRootsField, 1, false)
+            .addSeparator()
+            .addLabeledComponent(new JBLabel(LABEL_NAMES[5]), modulesPanel, 1, true)
+            .getPanel();
+    }
+
+    @Override
+    public boolean isModified() {
+        if (tagNamesField == null) {
+            return false;
+        }
+        ProjectSettingsState state = ProjectSettingsState.getInstance(project);
+        return !tagNamesField.getText().equals(state.tagNames) ||
+            !separatorsField.getText().equals(state.separators) ||
+            !linePrefixesField.getText().equals(state.linePrefixes) ||
+            !docRootsField.getText().equals(state.docRoots) ||
+            !modulesModel.getItems().equals(state.modules);
+    }
+
+    @Override
+    public void apply() throws ConfigurationException {
+        ProjectSettingsState state = ProjectSettingsState.getInstance(project);
+        String oldParsing = getParsingKey(state.tagNames, state.separators, state.linePrefixes, state.modules);
+        state.tagNames = tagNamesField.getText();
+        state.separators = separatorsField.getText();
+        state.linePrefixes = linePrefixesField.getText();
+        state.docRoots = docRootsField.getText();
+        state.modules = copy(modulesModel.getItems());
+
+        // 标签、分隔符、前缀变化时重新计算各模块生效的配置并让解析缓存失效，已编译过的组合直接复用；
+        // 出现新的标签、分隔符或前缀时扩大链接索引使用的并集并重建索引；只改了文档根目录时只清空路径解析缓存
+        DocLinkConfigService service = DocLinkConfigService.getInstance(project);
+        if (!oldParsing.equals(getParsingKey(state.tagNames, state.separators, state.linePrefixes, state.modules))) {
+            service.settingsChanged();
+            DocLinkIndexConfig.update(project, false);
+        } else {
+            service.docRootsChanged();
+        }
+    }
+
+    /**
+     * 影响解析结果的设置（标签、分隔符、前缀），不包括文档根目录
+     */
+    private static String getParsingKey(String tagNames, String separators, String linePrefixes,
+                                        List<ProjectSettingsState.ModuleSettings> modules) {
+        StringBuilder key = new StringBuilder(tagNames).append('\n').append(separators).append('\n').append(linePrefixes);
+        for (ProjectSettingsState.ModuleSettings module : modules) {
+            key.append('\n').append(module.moduleName).append('\t').append(module.tagNames)
+                .append('\t').append(module.separators).append('\t').append(module.linePrefixes);
+        }
+        return key.toString();
+    }
+
+    @Override
+    public void reset() {
+        if (tagNamesField == null) {
+            return;
+        }
+        ProjectSettingsState state = ProjectSettingsState.getInstance(project);
+        tagNamesField.setText(state.tagNames);
+        separatorsField.setText(state.separators);
+        linePrefixesField.setText(state.linePrefixes);
+        docRootsField.setText(state.docRoots);
+        modulesModel.setItems(copy(state.modules));
+    }
+
+    @Override
+    public void disposeUIResources() {
+        tagNamesField = null;
+        separatorsField = null;
+        linePrefixesField = null;
+        docRootsField = null;
+        modulesModel = null;
+    }
+
+    private static List<ProjectSettingsState.ModuleSettings> copy(List<ProjectSettingsState.ModuleSettings> modules) {
+        List<ProjectSettingsState.ModuleSettings> result = new ArrayList<>();
+        for (ProjectSettingsState.ModuleSettings module : modules) {
+            result.add(module.copy());
+        }
+        return result;
+    }
+
+    private String[] getModuleNames() {
+        return Arrays.stream(ModuleManager.getInstance(project).getModules())
+            .map(Module::getName)
+            .sorted()
+            .toArray(String[]::new);
+    }
+
+    /**
+     * 新增一行时默认选中第一个还没有设置的模块
+     */
+    private String getUnconfiguredModule() {
+        Set<String> configured = new HashSet<>();
+        for (ProjectSettingsState.ModuleSettings settings : modulesModel.getItems()) {
+            configured.add(settings.moduleName);
+        }
+        for (String name : getModuleNames()) {
+            if (!configured.contains(name)) {
+                return name;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 模块名列，用下拉框选择
+     */
+    private final class ModuleColumn extends ColumnInfo<ProjectSettingsState.ModuleSettings, String> {
+        ModuleColumn() {
+            super(LABEL_NAMES[6]);
+        }
+
+        @Override
+        public @Nullable String valueOf(ProjectSettingsState.ModuleSettings settings) {
+            return settings.moduleName;
+        }
+
+        @Override
+        public void setValue(ProjectSettingsState.ModuleSettings settings, String value) {
+            settings.moduleName = value == null ? "" : value;
+        }
+
+        @Override
+        public boolean isCellEditable(ProjectSettingsState.ModuleSettings settings) {
+            return true;
+        }
+
+        @Override
+        public @Nullable TableCellEditor getEditor(ProjectSettingsState.ModuleSettings settings) {
+            return new DefaultCellEditor(new ComboBox<>(getModuleNames()));
+        }
+    }
+
+    /**
+     * 可直接编辑的文本列
+     */
+    private static final class TextColumn extends ColumnInfo<ProjectSettingsState.ModuleSettings, String> {
+        private final Function<ProjectSettingsState.ModuleSettings, String> getter;
+        private final BiConsumer<ProjectSettingsState.ModuleSettings, String> setter;
+
+        TextColumn(@NotNull String name, Function<ProjectSettingsState.ModuleSettings, String> getter,
+                   BiConsumer<ProjectSettingsState.ModuleSettings, String> setter) {
+            super(name);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public @Nullable String valueOf(ProjectSettingsState.ModuleSettings settings) {
+            return getter.apply(settings);
+        }
+
+        @Override
+        public void setValue(ProjectSettingsState.ModuleSettings settings, String value) {
+            setter.accept(settings, value == null ? "" : value);
+        }
+
+        @Override
+        public boolean isCellEditable(ProjectSettingsState.ModuleSettings settings) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.saysawgames.filelinknavigator.settings;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+import com.intellij.util.xmlb.annotations.Tag;
+import com.intellij.util.xmlb.annotations.XCollection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 项目级设置，保存在项目的 .idea 目录中，可以随项目共享
+ * 留空的字段沿用上一级：模块 → 项目 → 应用级设置（SettingsState）
+ */
+@State(
+    name = "com.saysawgames.filelinknavigator.settings.ProjectSettingsState",
+    storages = @Storage("docLinkNavigator.xml")
+)
+public class ProjectSettingsState implements PersistentStateComponent<ProjectSettingsState> {
+    // 标签名列表，用,分隔，留空时使用应用级设置
+    public String tagNames = "";
+    // 文件名与行号之间的分隔符列表，用,分隔，留空时使用应用级设置
+    public String separators = "";
+    // 行号前缀，用,分隔，留空时使用应用级设置
+    public String linePrefixes = "";
+    // 额外的文档根目录（相对于项目根目录或绝对路径），用,分隔，链接路径也会在这些目录下查找
+    public String docRoots = "";
+    // 按模块覆盖的设置
+    @XCollection(style = XCollection.Style.v2)
+    public List<ModuleSettings> modules = new ArrayList<>();
+
+    /**
+     * 单个模块的设置，留空的字段沿用项目级设置
+     */
+    @Tag("module")
+    public static class ModuleSettings {
+        public String moduleName = "";
+        public String tagNames = "";
+        public String separators = "";
+        public String linePrefixes = "";
+        public String docRoots = "";
+
+        public ModuleSettings copy() {
+            ModuleSettings copy = new ModuleSettings();
+            XmlSerializerUtil.copyBean(this, copy);
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ModuleSettings)) {
+                return false;
+            }
+            ModuleSettings other = (ModuleSettings) o;
+            return moduleName.equals(other.moduleName) && tagNames.equals(other.tagNames)
+                && separators.equals(other.separators) && linePrefixes.equals(other.linePrefixes)
+                && docRoots.equals(other.docRoots);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(moduleName, tagNames, separators, linePrefixes, docRoots);
+        }
+    }
+
+    public static ProjectSettingsState getInstance(@NotNull Project project) {
+        return project.getService(ProjectSettingsState.class);
+    }
+
+    @Nullable
+    @Override
+    public ProjectSettingsState getState() {
+        return this;
+    }
+
+    @Override
+    public void loadState(@NotNull ProjectSettingsState state) {
+        XmlSerializerUtil.copyBean(state, this);
+    }
+}
@@ -3,10 +3,12 @@ package com.saysawgames.filelinknavigator.settings;
 
 import com.intellij.openapi.options.Configurable;
 import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.ui.components.JBCheckBox;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBTextField;
 import com.intellij.util.ui.FormBuilder;
 import com.saysawgames.filelinknavigator.Constant;
+import com.saysawgames.filelinknavigator.DocLinkIndexConfig;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.Nullable;
 
@@ -22,17 +24,23 @@ public class SettingsPage implements Configurable {
         "Delimiter between filename and line number (separated by commas, e.g., :,#):",
         "Line-number prefix (separated by commas, e.g., L):",
         "Example: @doc README.md:10 or @markdown docs/guide.txt#5L",
+        "Update line numbers in links when lines are added to or removed from the target file",
+        "Check links in the background when files are saved",
     };
     /*private static final String[] LABEL_NAMES = new String[]{
         "标签名,用[,]分隔，如：@doc,@markdown,@see",
         "文件名与行号之间的分隔符（用[,]分隔，如：:,#）：",
         "文件行号前缀（用[,]分隔，如：L）：",
         "示例：@doc README.md:10 或 @markdown docs/guide.txt#5L",
+        "目标文件增删行后自动更新链接中的行号",
+        "保存文件时在后台检查链接",
     };*/
 
     private JBTextField tagNamesField;
     private JBTextField separatorsField;
     private JBTextField linePrefixesField;
+    private JBCheckBox shiftLineNumbersBox;
+    private JBCheckBox validateOnSaveBox;
 
     private SettingsState settingsState;
 
@@ -55,21 +63,29 @@ public class SettingsPage implements Configurable {
         String defaultTagNames = Constant.DEFAULT_TAGNAMES;
         String defaultSeparators = Constant.DEFAULT_SEPARATORS;
         String defaultLinePrefixes = Constant.DEFAULT_LINEPREFIXES;
+        boolean defaultShiftLineNumbers = true;
+        boolean defaultValidateOnSave = true;
 
         if (settingsState != null) {
             defaultTagNames = settingsState.tagNames;
             defaultSeparators = settingsState.separators;
             defaultLinePrefixes = settingsState.linePrefixes;
+            defaultShiftLineNumbers = settingsState.shiftLineNumbers;
+            defaultValidateOnSave = settingsState.validateOnSave;
         }
 
         tagNamesField = new JBTextField(defaultTagNames);
         separatorsField = new JBTextField(defaultSeparators);
         linePrefixesField = new JBTextField(defaultLinePrefixes);
+        shiftLineNumbersBox = new JBCheckBox(LABEL_NAMES[4], defaultShiftLineNumbers);
+        validateOnSaveBox = new JBCheckBox(LABEL_NAMES[5], defaultValidateOnSave);
 
         return FormBuilder.createFormBuilder()
             .addLabeledComponent(new JBLabel(LABEL_NAMES[0]), tagNamesField, 1, false)
             .addLabeledComponent(new JBLabel(LABEL_NAMES[1]), separatorsField, 1, false)
             .addLabeledComponent(new JBLabel(LABEL_NAMES[2]), linePrefixesField, 1, false)
+            .addComponent(shiftLineNumbersBox, 1)
+            .addComponent(validateOnSaveBox, 1)
             .addSeparator()
             .addLabeledComponent(new JBLabel(LABEL_NAMES[3]), new JLabel(""), 1, false)
             .getPanel();
@@ -82,19 +98,28 @@ public class SettingsPage implements Configurable {
         }
         return !tagNamesField.getText().equals(settingsState.tagNames) ||
             !separatorsField.getText().equals(settingsState.separators) ||
-            !linePrefixesField.getText().equals(settingsState.linePrefixes);
+            !linePrefixesField.getText().equals(settingsState.linePrefixes) ||
+            shiftLineNumbersBox.isSelected() != settingsState.shiftLineNumbers ||
+            validateOnSaveBox.isSelected() != settingsState.validateOnSave;
     }
 
     @Override
     public void apply() throws ConfigurationException {
         if (settingsState != null) {
+            boolean syntaxChanged = !tagNamesField.getText().equals(settingsState.tagNames) ||
+                !separatorsField.getText().equals(settingsState.separators) ||
+                !linePrefixesField.getText().equals(settingsState.linePrefixes);
             settingsState.tagNames = tagNamesField.getText();
             settingsState.separators = separatorsField.getText();
             settingsState.linePrefixes = linePrefixesField.getText();
-
-            // 配置变更后，需要重新编译正则表达式
-            Constant.clearCache();  // 清除旧缓存
-            Constant.updateDocLinkPattern();  // 重新加载设置
+            settingsState.shiftLineNumbers = shiftLineNumbersBox.isSelected();
+            settingsState.validateOnSave = validateOnSaveBox.isSelected();
+
+            // 只有标签、分隔符、前缀变化时才重新编译配置并重建索引，其余开关不影响解析结果
+            if (syntaxChanged) {
+                settingsState.publish();  // 编译新配置并整体替换旧配置
+                DocLinkIndexConfig.update(null, true);  // 链接索引使用的标签并集变化时重建索引
+            }
         }
     }
 
@@ -104,6 +129,8 @@ public class SettingsPage implements Configurable {
             tagNamesField.setText(settingsState.tagNames);
             separatorsField.setText(settingsState.separators);
             linePrefixesField.setText(settingsState.linePrefixes);
+            shiftLineNumbersBox.setSelected(settingsState.shiftLineNumbers);
+            validateOnSaveBox.setSelected(settingsState.validateOnSave);
         }
     }
 
@@ -112,6 +139,8 @@ public class SettingsPage implements Configurable {
         tagNamesField = null;
         separatorsField = null;
         linePrefixesField = null;
+        shiftLineNumbersBox = null;
+        validateOnSaveBox = null;
     }
 }
 
@@ -1,5 +1,6 @@
 package com.saysawgames.filelinknavigator.settings;
 
+import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.State;
@@ -23,10 +24,16 @@ public class SettingsState implements PersistentStateComponent<SettingsState> {
     public String separators = Constant.DEFAULT_SEPARATORS;
     // 默认的行号前缀，用|分隔
     public String linePrefixes = Constant.DEFAULT_LINEPREFIXES;
+    // 目标文档增删行后自动调整链接中的行号
+    public boolean shiftLineNumbers = true;
+    // 保存文件后在后台检查失效链接
+    public boolean validateOnSave = true;
 
     // 获取单例实例
     public static SettingsState getInstance() {
-        return ApplicationManager.getApplication().getService(SettingsState.class);
+        // 没有 IDE 环境时（例如基准测试）返回 null，调用方使用默认值
+        Application application = ApplicationManager.getApplication();
+        return application == null ? null : application.getService(SettingsState.class);
     }
 
     @Nullable
@@ -38,6 +45,20 @@ public class SettingsState implements PersistentStateComponent<SettingsState> {
     @Override
     public void loadState(@NotNull SettingsState state) {
         XmlSerializerUtil.copyBean(state, this);
+        publish();
+    }
+
+    @Override
+    public void noStateLoaded() {
+        // 没有保存过设置时也发布一次，保证 Constant 中的配置来自设置而不是默认值
+        publish();
+    }
+
+    /**
+     * 把当前的标签名、分隔符和行号前缀编译成配置并发布到 Constant
+     */
+    public void publish() {
+        Constant.updateDocLinkPattern(getTagNamesRegex(), getSeparatorsRegex(), getLinePrefixesRegex());
     }
 
     public String getTagNamesRegex() {
@@ -23,6 +23,9 @@ public class CommentTest {
     /** @markdown ./test.md#20L **/
     /** @see ./test.md#30l **/
 
+    // 标题锚点测试
+    // @doc ../../../README.md#File-Link-Navigator
+
     //不生效的跳转：
     // @doc ./...
 
@@ -0,0 +1,89 @@
+import com.saysawgames.filelinknavigator.Constant;
+import com.saysawgames.filelinknavigator.DocLinkConfig;
+import com.saysawgames.filelinknavigator.DocLinkMatchBuffer;
+import com.saysawgames.filelinknavigator.DocLinkParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 紧凑匹配缓冲区：各字段的偏移、按需生成的字符串、容量增长与复用
+ */
+public class DocLinkMatchBufferTest {
+
+    private static final DocLinkConfig CONFIG = Constant.compile(
+        Constant.DEFAULT_TAGNAMES, Constant.DEFAULT_SEPARATORS, Constant.DEFAULT_LINEPREFIXES, 1);
+
+    @Test
+    public void storesOffsets() {
+        String text = "// @doc ./test.md:L10 and @see docs/a.md#Intro";
+        DocLinkMatchBuffer buffer = new DocLinkMatchBuffer();
+        assertEquals(2, DocLinkParser.parseDocLinks(text, buffer, CONFIG));
+
+        assertEquals(3, buffer.getStart(0));
+        assertEquals(21, buffer.getEnd(0));
+        assertEquals(0, buffer.getTagIndex(0));
+        assertEquals("do", buffer.getTagName(0));
+        assertEquals(8, buffer.getPathStart(0));
+        assertEquals(17, buffer.getPathEnd(0));
+        assertEquals("./test.md", buffer.getFilePath(0, text));
+        assertTrue(buffer.hasLineNumber(0));
+        assertEquals(19, buffer.getLineNumberStart(0));
+        assertEquals(21, buffer.getLineNumberEnd(0));
+        assertEquals(10, buffer.getLineNumber(0));
+        assertFalse(buffer.hasAnchor(0));
+        assertNull(buffer.getAnchor(0, text));
+        assertFalse(buffer.hasFingerprint(0));
+
+        assertEquals(26, buffer.getStart(1));
+        assertEquals(46, buffer.getEnd(1));
+        assertEquals(2, buffer.getTagIndex(1));
+        assertEquals("docs/a.md", buffer.getFilePath(1, text));
+        assertFalse(buffer.hasLineNumber(1));
+        assertEquals(1, buffer.getLineNumber(1));
+        assertTrue(buffer.hasAnchor(1));
+        assertEquals(41, buffer.getAnchorStart(1));
+        assertEquals(46, buffer.getAnchorEnd(1));
+        assertEquals("Intro", buffer.getAnchor(1, text));
+
+        DocLinkParser.DocLinkMatch match = buffer.toMatch(1, text);
+        assertEquals("se", match.tagName);
+        assertEquals("docs/a.md", match.filePath);
+        assertNull(match.lineNumber);
+        assertEquals("Intro", match.anchor);
+        assertEquals(26, match.start);
+        assertEquals(46, match.end);
+    }
+
+    @Test
+    public void growsFromSmallCapacity() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 100; i++) {
+            text.append("// @doc a").append(i).append(".md:").append(i).append('\n');
+        }
+        DocLinkMatchBuffer buffer = new DocLinkMatchBuffer(1);
+        assertEquals(100, DocLinkParser.parseDocLinks(text, buffer, CONFIG));
+        for (int i = 0; i < 100; i++) {
+            assertEquals("a" + (i + 1) + ".md", buffer.getFilePath(i, text));
+            assertEquals(i + 1, buffer.getLineNumber(i));
+        }
+    }
+
+    @Test
+    public void isReusable() {
+        DocLinkMatchBuffer buffer = new DocLinkMatchBuffer();
+        assertEquals(2, DocLinkParser.parseDocLinks("@doc a.md:1 @see b.md", buffer, CONFIG));
+        assertEquals(1, DocLinkParser.parseDocLinks("// @doc c.md:7", buffer, CONFIG));
+        assertEquals(1, buffer.size());
+        assertEquals("c.md", buffer.getFilePath(0, "// @doc c.md:7"));
+        assertEquals(7, buffer.getLineNumber(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getStart(1));
+
+        assertEquals(0, DocLinkParser.parseDocLinks("// nothing here", buffer, CONFIG));
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+import com.saysawgames.filelinknavigator.Constant;
+import com.saysawgames.filelinknavigator.DocLinkConfig;
+import com.saysawgames.filelinknavigator.DocLinkParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 单遍扫描解析器的结果：固定原先逐个标签尝试的解析器的行为（标签、路径、行号、锚点、偏移）
+ */
+public class DocLinkParserTest {
+
+    private static final DocLinkConfig CONFIG = Constant.compile(
+        Constant.DEFAULT_TAGNAMES, Constant.DEFAULT_SEPARATORS, Constant.DEFAULT_LINEPREFIXES, 1);
+
+    @Test
+    public void parsesTagPathLineAndOffsets() {
+        String text = "// @doc ./test.md:10 and @see docs/a.md#Intro";
+        List<DocLinkParser.DocLinkMatch> matches = DocLinkParser.parseDocLinks(text, CONFIG);
+        assertEquals(2, matches.size());
+
+        DocLinkParser.DocLinkMatch first = matches.get(0);
+        assertEquals("do", first.tagName);
+        assertEquals("./test.md", first.filePath);
+        assertEquals("10", first.lineNumber);
+        assertEquals(10, first.line);
+        assertNull(first.anchor);
+        assertEquals(3, first.start);
+        assertEquals(20, first.end);
+
+        DocLinkParser.DocLinkMatch second = matches.get(1);
+        assertEquals("se", second.tagName);
+        assertEquals("docs/a.md", second.filePath);
+        assertNull(second.lineNumber);
+        assertEquals(1, second.line);
+        assertEquals("Intro", second.anchor);
+        assertEquals(25, second.start);
+        assertEquals(45, second.end);
+    }
+
+    @Test
+    public void tagNameDropsFirstAndLastCharacter() {
+        // 原先的实现按 "@doc:" 的形式用 substring(1, len - 1) 取标签名，没有冒号的标签会少最后一个字符
+        DocLinkConfig config = Constant.compile("@doc:,@markdown,@x", ":", "L", 2);
+        assertEquals("doc", parseOne("@doc: a.md", config).tagName);
+        assertEquals("markdow", parseOne("@markdown a.md", config).tagName);
+        assertEquals("", parseOne("@x a.md", config).tagName);
+    }
+
+    @Test
+    public void earliestConfiguredTagWins() {
+        // 同一位置两个标签都能匹配时取配置中靠前的，即使它更短
+        DocLinkParser.DocLinkMatch shortFirst = parseOne("@doc a.md:3", Constant.compile("@d,@doc", ":", "L", 3));
+        assertEquals("", shortFirst.tagName);
+        assertEquals("oc", shortFirst.filePath);
+        assertNull(shortFirst.lineNumber);
+        assertEquals(4, shortFirst.end);
+
+        DocLinkParser.DocLinkMatch longFirst = parseOne("@doc a.md:3", Constant.compile("@doc,@d", ":", "L", 4));
+        assertEquals("do", longFirst.tagName);
+        assertEquals("a.md", longFirst.filePath);
+        assertEquals(3, longFirst.line);
+        assertEquals(11, longFirst.end);
+    }
+
+    @Test
+    public void separatorWhitespaceAndLinePrefix() {
+        String[] texts = {"@doc a.md:L12", "@doc a.md : L12", "@doc a.md#  L12", "@doc a.md:\tL12", "@doc a.md:12"};
+        for (String text : texts) {
+            DocLinkParser.DocLinkMatch match = parseOne(text, CONFIG);
+            assertEquals("a.md", match.filePath, text);
+            assertEquals("12", match.lineNumber, text);
+            assertEquals(12, match.line, text);
+            assertEquals(text.length(), match.end, text);
+        }
+        // 只有配置中的前缀生效
+        DocLinkParser.DocLinkMatch other = parseOne("@doc a.md:X12", CONFIG);
+        assertNull(other.lineNumber);
+        assertEquals("X12", other.anchor);
+    }
+
+    @Test
+    public void textAfterSeparatorWithSpaceIsNotAnchor() {
+        String text = "// @doc README.md: see below";
+        DocLinkParser.DocLinkMatch match = parseOne(text, CONFIG);
+        assertEquals("README.md", match.filePath);
+        assertNull(match.anchor);
+        assertNull(match.lineNumber);
+        assertEquals(3, match.start);
+        assertEquals("// @doc README.md".length(), match.end);
+    }
+
+    @Test
+    public void anchorAndInvalidLinks() {
+        DocLinkParser.DocLinkMatch anchor = parseOne("// @doc ../../../README.md#File-Link-Navigator", CONFIG);
+        assertEquals("../../../README.md", anchor.filePath);
+        assertEquals("File-Link-Navigator", anchor.anchor);
+
+        assertEquals("文档/说明.md", parseOne("// @doc 文档/说明.md:3", CONFIG).filePath);
+        assertEquals("-doc", parseOne("// @see-doc ./test.md:30", CONFIG).filePath);
+        assertEquals(0, DocLinkParser.parseDocLinks("// @doc :10 @see", CONFIG).size());
+        assertEquals(0, DocLinkParser.parseDocLinks("", CONFIG).size());
+    }
+
+    private static DocLinkParser.DocLinkMatch parseOne(String text, DocLinkConfig config) {
+        List<DocLinkParser.DocLinkMatch> matches = DocLinkParser.parseDocLinks(text, config);
+        assertEquals(1, matches.size(), text);
+        return matches.get(0);
+    }
+}
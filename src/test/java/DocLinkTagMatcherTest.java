@@ -0,0 +1,84 @@
+import com.saysawgames.filelinknavigator.DocLinkTagMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 字典树匹配与原先逐个标签 startsWith 的结果保持一致（同一位置取配置顺序中靠前的标签）
+ */
+public class DocLinkTagMatcherTest {
+
+    /**
+     * 原先的匹配方式：按配置顺序逐个标签尝试
+     */
+    private static int matchOld(String[] tags, String text, int pos) {
+        for (int t = 0; t < tags.length; t++) {
+            if (!tags[t].isEmpty() && text.startsWith(tags[t], pos)) {
+                return t;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void overlappingTagsFollowConfigOrder() {
+        String[] shortFirst = {"@d", "@doc", "@docs"};
+        String[] longFirst = {"@docs", "@doc", "@d"};
+        DocLinkTagMatcher shortMatcher = new DocLinkTagMatcher(shortFirst);
+        DocLinkTagMatcher longMatcher = new DocLinkTagMatcher(longFirst);
+
+        assertEquals(0, shortMatcher.match("@docs ./a.md", 0));
+        assertEquals(0, longMatcher.match("@docs ./a.md", 0));
+        assertEquals(1, longMatcher.match("@doc ./a.md", 0));
+        assertEquals(2, longMatcher.match("@dx ./a.md", 0));
+        assertEquals(-1, longMatcher.match("@x ./a.md", 0));
+        assertEquals(-1, longMatcher.match("@", 0));
+    }
+
+    @Test
+    public void duplicateTagKeepsFirstIndex() {
+        DocLinkTagMatcher matcher = new DocLinkTagMatcher(new String[]{"@see", "@doc", "@see"});
+        assertEquals(0, matcher.match("@see ./a.md", 0));
+    }
+
+    @Test
+    public void tagStartFilter() {
+        DocLinkTagMatcher matcher = new DocLinkTagMatcher(new String[]{"@doc", "文档:"});
+        assertTrue(matcher.isTagStart('@'));
+        assertTrue(matcher.isTagStart('文'));
+        assertFalse(matcher.isTagStart('d'));
+        assertFalse(matcher.isTagStart('档'));
+        assertEquals(1, matcher.match("见 文档: a.md", 2));
+    }
+
+    @Test
+    public void randomTextMatchesOldSemantics() {
+        String[][] configs = {
+            {"@doc", "@markdown", "@see"},
+            {"@d", "@doc", "@docs", "@doc-x"},
+            {"@doc-x", "@docs", "@doc", "@d"},
+            {"@a", "@ab", "@abc", "@b", "@ba", "", "@ab"},
+        };
+        String alphabet = "@abcdosxkmn-: ";
+        Random random = new Random(42);
+        for (String[] tags : configs) {
+            DocLinkTagMatcher matcher = new DocLinkTagMatcher(tags);
+            for (int round = 0; round < 2000; round++) {
+                StringBuilder text = new StringBuilder();
+                int length = random.nextInt(24);
+                for (int i = 0; i < length; i++) {
+                    text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                String sample = text.toString();
+                for (int pos = 0; pos < sample.length(); pos++) {
+                    assertEquals(matchOld(tags, sample, pos), matcher.match(sample, pos),
+                        "tags=" + String.join(",", tags) + " text=\"" + sample + "\" pos=" + pos);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import com.saysawgames.filelinknavigator.Constant;
+import com.saysawgames.filelinknavigator.DocLinkConfig;
+import com.saysawgames.filelinknavigator.DocLinkParser;
+import com.saysawgames.filelinknavigator.LineFingerprint;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 行内容指纹：链接中 ~hex 后缀的解析，以及 LineFingerprint.of、matches、locate 三者的结果保持一致
+ */
+public class LineFingerprintTest {
+
+    private static final DocLinkConfig CONFIG = Constant.compile(
+        Constant.DEFAULT_TAGNAMES, Constant.DEFAULT_SEPARATORS, Constant.DEFAULT_LINEPREFIXES, 1);
+
+    private static final String TEXT = """
+        # 标题
+
+        第一段内容
+          缩进的一行\t
+        重复的一行
+        中间
+        重复的一行
+        最后一行""";
+
+    @Test
+    public void parsesFingerprintSuffix() {
+        DocLinkParser.DocLinkMatch match = parseOne("// @doc notes.md:42~a1b2c3 rest");
+        assertEquals("notes.md", match.filePath);
+        assertEquals(42, match.line);
+        assertEquals("a1b2c3", match.fingerprint);
+        assertEquals("// @doc notes.md:42~a1b2c3".length(), match.end);
+
+        assertEquals("ABCD", parseOne("@doc notes.md: L7~ABCD").fingerprint);
+        assertEquals("0123abcd", parseOne("@doc notes.md:7~0123abcd.").fingerprint);
+    }
+
+    @Test
+    public void rejectsBadFingerprintSuffix() {
+        // 位数不足、超过 8 位、含非十六进制字符、紧跟字母数字：只保留行号，链接在行号处结束
+        String[] texts = {
+            "@doc notes.md:42~abc",
+            "@doc notes.md:42~a1b2c3d4e",
+            "@doc notes.md:42~a1b2g",
+            "@doc notes.md:42~xyz12",
+            "@doc notes.md:42~",
+            "@doc notes.md:42 ~a1b2",
+        };
+        for (String text : texts) {
+            DocLinkParser.DocLinkMatch match = parseOne(text);
+            assertNull(match.fingerprint, text);
+            assertEquals(42, match.line, text);
+            assertEquals("@doc notes.md:42".length(), match.end, text);
+        }
+    }
+
+    @Test
+    public void fingerprintNeedsLineNumber() {
+        DocLinkParser.DocLinkMatch anchor = parseOne("@doc guide.md#Install~a1b2");
+        assertNull(anchor.fingerprint);
+        assertEquals("Install", anchor.anchor);
+
+        DocLinkParser.DocLinkMatch plain = parseOne("@doc guide.md~a1b2");
+        assertNull(plain.fingerprint);
+        assertNull(plain.lineNumber);
+        assertEquals("guide.md", plain.filePath);
+    }
+
+    @Test
+    public void ofMatchesAndLocatesEveryLine() {
+        String[] lines = TEXT.split("\n", -1);
+        int start = 0;
+        for (int i = 0; i < lines.length; i++) {
+            int end = start + lines[i].length();
+            String fingerprint = LineFingerprint.of(TEXT, start, end);
+            assertEquals(LineFingerprint.DEFAULT_DIGITS, fingerprint.length());
+            assertTrue(LineFingerprint.matches(TEXT, start, end, fingerprint), lines[i]);
+            // 每一行都能在原行号上定位到自己（重复的行内容相同，原行号就是最近的）
+            assertEquals(i + 1, LineFingerprint.locate(TEXT, i + 1, fingerprint), lines[i]);
+            // 位数减少后仍然匹配
+            assertTrue(LineFingerprint.matches(TEXT, start, end, fingerprint.substring(0, LineFingerprint.MIN_DIGITS)));
+            start = end + 1;
+        }
+    }
+
+    @Test
+    public void ignoresSurroundingWhitespace() {
+        String line = "  缩进的一行\t \r";
+        String fingerprint = LineFingerprint.of(line, 0, line.length());
+        assertEquals(fingerprint, LineFingerprint.of("缩进的一行", 0, "缩进的一行".length()));
+        assertEquals(4, LineFingerprint.locate(TEXT, 4, fingerprint));
+        assertEquals(4, LineFingerprint.locate("a\r\nb\r\nc\r\n" + line + "\r\n", 1, fingerprint));
+    }
+
+    @Test
+    public void locatesShiftedLine() {
+        String fingerprint = fingerprintOfLine(TEXT, 8);
+        String shifted = "新增 1\n新增 2\n新增 3\n" + TEXT;
+        assertEquals(11, LineFingerprint.locate(shifted, 8, fingerprint));
+
+        String removed = TEXT.substring(TEXT.indexOf('\n') + 1);
+        assertEquals(7, LineFingerprint.locate(removed, 8, fingerprint));
+    }
+
+    @Test
+    public void locatesNearestDuplicate() {
+        String fingerprint = fingerprintOfLine(TEXT, 5);
+        assertEquals(5, LineFingerprint.locate(TEXT, 4, fingerprint));
+        assertEquals(7, LineFingerprint.locate(TEXT, 8, fingerprint));
+    }
+
+    @Test
+    public void rejectsInvalidFingerprint() {
+        String[] invalid = {null, "", "abc", "a1b2c3d4e", "xyz123", "a1b2-3"};
+        for (String fingerprint : invalid) {
+            assertFalse(LineFingerprint.matches(TEXT, 0, 4, fingerprint), String.valueOf(fingerprint));
+            assertEquals(-1, LineFingerprint.locate(TEXT, 1, fingerprint), String.valueOf(fingerprint));
+        }
+    }
+
+    @Test
+    public void missingLineIsNotFound() {
+        String fingerprint = LineFingerprint.of("不存在的一行", 0, "不存在的一行".length());
+        assertEquals(-1, LineFingerprint.locate(TEXT, 3, fingerprint));
+    }
+
+    private static DocLinkParser.DocLinkMatch parseOne(String text) {
+        List<DocLinkParser.DocLinkMatch> matches = DocLinkParser.parseDocLinks(text, CONFIG);
+        assertEquals(1, matches.size(), text);
+        return matches.get(0);
+    }
+
+    private static String fingerprintOfLine(String text, int line) {
+        int start = 0;
+        for (int i = 1; i < line; i++) {
+            start = text.indexOf('\n', start) + 1;
+        }
+        int end = text.indexOf('\n', start);
+        return LineFingerprint.of(text, start, end < 0 ? text.length() : end);
+    }
+}